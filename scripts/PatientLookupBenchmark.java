@@ -0,0 +1,177 @@
+package hospital.management.system;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Times {@link PatientLookup#search} with 100,000 active patients, the selector behind the update and discharge
+ * forms. Synthetic patients are inserted with numbers under {@value #NUMBER_PREFIX}, typical prefixes are looked
+ * up many times each, and the median and 99th percentile are reported per prefix. {@code explain} must show an
+ * index on both halves of the union; the run exits with status 1 when either half scans the table. Seeded
+ * patients are deleted again at the end, and the run refuses to start if numbers under the prefix already exist.
+ *
+ * <p>Run against a development database (it uses {@code db.properties} like the application) with
+ * {@code scripts/patient-lookup-benchmark.ps1}, or compile it together with {@code src} and run
+ * {@code hospital.management.system.PatientLookupBenchmark [patients]}.
+ */
+public final class PatientLookupBenchmark {
+
+    private static final int DEFAULT_PATIENTS = 100_000;
+    private static final String NUMBER_PREFIX = "77";
+    // Same cap as the typeahead on the forms.
+    private static final int LOOKUP_LIMIT = 12;
+    private static final int INSERT_BATCH = 1_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 300;
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Akash", "Alia", "Amit", "Ananya", "Anil", "Anjali", "Arjun", "Asha", "Deepak", "Divya",
+            "Farhan", "Gita", "Harish", "Isha", "Kabir", "Kavya", "Kiran", "Lakshmi", "Manoj", "Meera", "Mohan",
+            "Neha", "Nikhil", "Pooja", "Priya", "Rahul", "Rajesh", "Ravi", "Riya", "Rohan", "Sahil", "Sana", "Sanjay",
+            "Sara", "Shreya", "Sunil", "Tanvi", "Varun", "Vikram", "Zara"
+    };
+    private static final String[] LAST_NAMES = {
+            "Agarwal", "Bose", "Chopra", "Das", "Desai", "Gupta", "Iyer", "Jain", "Joshi", "Kapoor", "Khan", "Kumar",
+            "Malhotra", "Mehta", "Menon", "Mishra", "Nair", "Patel", "Pillai", "Rao", "Reddy", "Saxena", "Shah",
+            "Sharma", "Singh", "Sinha", "Thomas", "Varma", "Verma", "Yadav"
+    };
+    private static final String[] DEPARTMENTS = {"Cardiology", "Emergency", "General Medicine", "Neurology", "Surgery"};
+    private static final String[] PREFIXES = {"", "r", "ra", "raj", "rajesh s", "zara iyer", "77", "7700", "770012", "qx"};
+
+    private PatientLookupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int patients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PATIENTS;
+        if (countSeeded() > 0) {
+            System.out.println("Patient numbers starting with " + NUMBER_PREFIX + " already exist; refusing to seed over them.");
+            System.exit(1);
+        }
+
+        List<String> failures = new ArrayList<>();
+        try {
+            long started = System.nanoTime();
+            seed(patients);
+            System.out.printf(Locale.ROOT, "Seeded %,d patients in %d ms%n", patients, (System.nanoTime() - started) / 1_000_000);
+
+            failures.addAll(checkPlan());
+
+            DataAccessExecutor.Task task = new DataAccessExecutor.Task();
+            long[] samples = new long[MEASURED_ROUNDS];
+            System.out.printf(Locale.ROOT, "%-12s %8s %12s %12s%n", "prefix", "matches", "median ms", "p99 ms");
+            for (String prefix : PREFIXES) {
+                int matches = 0;
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    matches = PatientLookup.search(prefix, LOOKUP_LIMIT, task).size();
+                }
+                for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                    long before = System.nanoTime();
+                    PatientLookup.search(prefix, LOOKUP_LIMIT, task);
+                    samples[round] = System.nanoTime() - before;
+                }
+                Arrays.sort(samples);
+                System.out.printf(Locale.ROOT, "%-12s %8d %12.2f %12.2f%n", '"' + prefix + '"', matches,
+                        samples[MEASURED_ROUNDS / 2] / 1e6, samples[MEASURED_ROUNDS * 99 / 100] / 1e6);
+            }
+        } finally {
+            removeSeeded();
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(System.out::println);
+            System.exit(1);
+        }
+        System.out.println("OK: both halves of the lookup use an index");
+        System.exit(0);
+    }
+
+    private static long countSeeded() throws SQLException {
+        try (conn c = new conn(); PreparedStatement count = c.connection.prepareStatement(
+                "select count(*) from Patient_Info where number like ?")) {
+            count.setString(1, NUMBER_PREFIX + "%");
+            try (ResultSet rs = count.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /** Inserts the synthetic patients in committed batches; they all point at one existing room. */
+    private static void seed(int patients) throws SQLException {
+        Random random = new Random(11);
+        try (conn c = new conn()) {
+            int room;
+            try (ResultSet rs = c.statement.executeQuery("select room_no from room order by room_no limit 1")) {
+                if (!rs.next()) {
+                    throw new SQLException("The room table is empty; seed it before running the benchmark");
+                }
+                room = rs.getInt(1);
+            }
+            LocalDateTime admitted = LocalDateTime.now().withNano(0);
+            c.connection.setAutoCommit(false);
+            try (PreparedStatement insert = c.connection.prepareStatement("insert into Patient_Info "
+                    + "(ID, number, Name, Gender, Disease, Room_Number, Time, Admitted_At, Deposite) "
+                    + "values ('Aadhar Card', ?, ?, ?, ?, ?, ?, ?, 0)")) {
+                for (int i = 0; i < patients; i++) {
+                    insert.setString(1, String.format(Locale.ROOT, "%s%07d", NUMBER_PREFIX, i));
+                    insert.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                    insert.setString(3, i % 2 == 0 ? "Male" : "Female");
+                    insert.setString(4, DEPARTMENTS[i % DEPARTMENTS.length]);
+                    insert.setInt(5, room);
+                    insert.setString(6, admitted.format(AdmissionTimes.DISPLAY_FORMAT));
+                    insert.setObject(7, admitted);
+                    insert.addBatch();
+                    if ((i + 1) % INSERT_BATCH == 0 || i + 1 == patients) {
+                        insert.executeBatch();
+                        c.connection.commit();
+                    }
+                }
+            }
+            c.connection.setAutoCommit(true);
+            c.statement.execute("analyze table Patient_Info");
+        }
+    }
+
+    /** Every row of the plan must name an index; a null key on Patient_Info means a full scan. */
+    private static List<String> checkPlan() throws SQLException {
+        List<String> failures = new ArrayList<>();
+        try (conn c = new conn(); PreparedStatement explain = c.connection.prepareStatement("explain " + PatientLookup.SEARCH)) {
+            explain.setString(1, "raj%");
+            explain.setInt(2, LOOKUP_LIMIT);
+            explain.setString(3, NUMBER_PREFIX + "00%");
+            explain.setInt(4, LOOKUP_LIMIT);
+            explain.setInt(5, LOOKUP_LIMIT);
+            try (ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    String key = rs.getString("key");
+                    System.out.println("plan: " + table + " uses " + (key == null ? "no index" : key)
+                            + " (" + rs.getString("type") + ")");
+                    if ("Patient_Info".equalsIgnoreCase(table) && key == null) {
+                        failures.add("A lookup branch scans Patient_Info without an index");
+                    }
+                }
+            }
+        }
+        return failures;
+    }
+
+    private static void removeSeeded() throws SQLException {
+        try (conn c = new conn(); PreparedStatement delete = c.connection.prepareStatement(
+                "delete from Patient_Info where number like ? limit " + INSERT_BATCH)) {
+            delete.setString(1, NUMBER_PREFIX + "%");
+            // Small deletes keep each transaction and its undo log short.
+            int deleted;
+            do {
+                deleted = delete.executeUpdate();
+            } while (deleted > 0);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package hospital.management.system;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Times {@link PatientSearchIndex} lookups against a synthetic directory, 500,000 patients by default, to
+ * check that a quick-search keystroke is answered in under a millisecond. Names are drawn from small first and
+ * last name pools and departments from a short list, so common prefixes match tens of thousands of rows as
+ * they would in a real directory. Each query is timed many times after a warm-up and reported as median and
+ * 99th percentile; the run exits with status 1 when a median for a query of two or more characters reaches
+ * a millisecond. Single letters are reported but not checked: they match most of the table, and the debounce
+ * means they are rarely searched on their own.
+ *
+ * <p>No database is needed. Run it with {@code scripts/patient-search-benchmark.ps1}, or compile it together
+ * with {@code src} and run {@code hospital.management.system.PatientSearchBenchmark [patients]}; give the JVM
+ * about 1 GB of heap for the default size.
+ */
+public final class PatientSearchBenchmark {
+
+    private static final int DEFAULT_PATIENTS = 500_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1_000;
+    private static final long BUDGET_NANOS = 1_000_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Akash", "Alia", "Amit", "Ananya", "Anil", "Anjali", "Arjun", "Asha", "Deepak", "Divya",
+            "Farhan", "Gita", "Harish", "Isha", "Kabir", "Kavya", "Kiran", "Lakshmi", "Manoj", "Meera", "Mohan",
+            "Neha", "Nikhil", "Pooja", "Priya", "Rahul", "Rajesh", "Ravi", "Riya", "Rohan", "Sahil", "Sana", "Sanjay",
+            "Sara", "Shreya", "Sunil", "Tanvi", "Varun", "Vikram", "Zara"
+    };
+    private static final String[] LAST_NAMES = {
+            "Agarwal", "Bose", "Chopra", "Das", "Desai", "Gupta", "Iyer", "Jain", "Joshi", "Kapoor", "Khan", "Kumar",
+            "Malhotra", "Mehta", "Menon", "Mishra", "Nair", "Patel", "Pillai", "Rao", "Reddy", "Saxena", "Shah",
+            "Sharma", "Singh", "Sinha", "Thomas", "Varma", "Verma", "Yadav"
+    };
+    private static final String[] DEPARTMENTS = {
+            "Cardiology", "Dermatology", "Emergency", "Endocrinology", "Gastroenterology", "General Medicine",
+            "Nephrology", "Neurology", "Obstetrics", "Oncology", "Ophthalmology", "Orthopaedics", "Paediatrics",
+            "Psychiatry", "Pulmonology", "Radiology", "Surgery", "Urology"
+    };
+    private static final String[] QUERIES = {
+            "r", "ra", "raj", "rajesh", "rajesh sh", "rajesh sharma", "sharma", "card", "cardiology 4",
+            "12", "123", "1234567", "412", "zara iyer", "qx"
+    };
+
+    private PatientSearchBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int patients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PATIENTS;
+
+        long started = System.nanoTime();
+        PatientSearchIndex index = PatientSearchIndex.build(new SyntheticDirectory(patients));
+        System.out.printf(Locale.ROOT, "Indexed %,d patients in %d ms%n", patients, (System.nanoTime() - started) / 1_000_000);
+
+        boolean failed = false;
+        long[] samples = new long[MEASURED_ROUNDS];
+        System.out.printf(Locale.ROOT, "%-16s %10s %12s %12s%n", "query", "matches", "median us", "p99 us");
+        for (String query : QUERIES) {
+            int matches = 0;
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                matches = cardinality(index.search(query));
+            }
+            for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                long before = System.nanoTime();
+                BitSet result = index.search(query);
+                samples[round] = System.nanoTime() - before;
+                matches = cardinality(result);
+            }
+            Arrays.sort(samples);
+            long median = samples[MEASURED_ROUNDS / 2];
+            long p99 = samples[MEASURED_ROUNDS * 99 / 100];
+            boolean checked = query.length() >= 2;
+            boolean slow = checked && median >= BUDGET_NANOS;
+            failed |= slow;
+            System.out.printf(Locale.ROOT, "%-16s %,10d %12.1f %12.1f%s%n", '"' + query + '"', matches,
+                    median / 1_000.0, p99 / 1_000.0, slow ? "  over budget" : checked ? "" : "  (not checked)");
+        }
+
+        if (failed) {
+            System.out.println("FAILED: a lookup took a millisecond or more");
+            System.exit(1);
+        }
+        System.out.println("OK: every checked lookup answered in under a millisecond");
+    }
+
+    private static int cardinality(BitSet result) {
+        return result == null ? 0 : result.cardinality();
+    }
+
+    /** Generates rows on demand, so the directory itself costs no memory next to the index. */
+    private static final class SyntheticDirectory extends AbstractTableModel {
+        private static final String[] COLUMNS = {"ID", "number", "Name", "Gender", "Disease", "Room_Number"};
+
+        private final int rows;
+        private final int[] nameSeeds;
+
+        SyntheticDirectory(int rows) {
+            this.rows = rows;
+            Random random = new Random(7);
+            nameSeeds = new int[rows];
+            for (int row = 0; row < rows; row++) {
+                nameSeeds[row] = random.nextInt(FIRST_NAMES.length * LAST_NAMES.length);
+            }
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return switch (COLUMNS[column]) {
+                case "ID" -> "Aadhar Card";
+                case "number" -> Integer.toString(1_000_000 + row * 7);
+                case "Name" -> FIRST_NAMES[nameSeeds[row] % FIRST_NAMES.length] + " "
+                        + LAST_NAMES[nameSeeds[row] / FIRST_NAMES.length];
+                case "Gender" -> row % 2 == 0 ? "Male" : "Female";
+                case "Disease" -> DEPARTMENTS[row % DEPARTMENTS.length];
+                default -> 100 + row % 900;
+            };
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package hospital.management.system;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that concurrent admissions never double-book a room. The run adds its own scratch rooms, one fewer than
+ * there are desks and all of a bed type nothing else uses, so it never touches real rooms. In every round all desk
+ * threads call {@link NEW_PATIENT#persistAdmission} for the same room at the same instant: one desk gets that room,
+ * the others are moved to the remaining scratch rooms, and exactly one desk must be refused. After each round no
+ * two admitted patients may share a {@code Room_Number}, and exactly their rooms must be occupied. The round's
+ * patients are then removed and their rooms released for the next round. The defaults give 3,200 concurrent
+ * admissions; scratch patients and rooms are deleted at the end.
+ *
+ * <p>Run against a development database (it uses {@code db.properties} like the application) with
+ * {@code scripts/room-claim-stress.ps1}, or compile it together with {@code src} and run
+ * {@code hospital.management.system.RoomClaimStress [desks] [rounds]}. Exits with status 1 when a check fails.
+ */
+public final class RoomClaimStress {
+
+    private static final int DEFAULT_DESKS = 16;
+    private static final int DEFAULT_ROUNDS = 200;
+    private static final int FIRST_ROOM = 90_000;
+    private static final String BED_TYPE = "Stress test";
+    private static final String NUMBER_PREFIX = "stress-";
+
+    private RoomClaimStress() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int desks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DESKS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        int rooms = desks - 1;
+        String target = Integer.toString(FIRST_ROOM);
+
+        List<String> failures = new ArrayList<>();
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        long started = System.nanoTime();
+        // The application probes the schema at start-up; a cold probe inside every desk's admission would need a
+        // second pooled connection per desk at the same moment.
+        SchemaCapabilities.current();
+        createRooms(rooms);
+        try {
+            System.out.println("Racing " + desks + " desks for room " + target + " (" + rooms + " scratch rooms) over "
+                    + rounds + " rounds");
+            for (int r = 0; r < rounds && failures.isEmpty(); r++) {
+                int round = r;
+                ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+                AtomicInteger roundRefused = new AtomicInteger();
+                CyclicBarrier start = new CyclicBarrier(desks);
+                List<Thread> threads = new ArrayList<>(desks);
+                for (int desk = 0; desk < desks; desk++) {
+                    NEW_PATIENT.AdmissionForm form = new NEW_PATIENT.AdmissionForm("Aadhar Card",
+                            NUMBER_PREFIX + round + "-" + desk, "Stress Patient " + desk, "Other", "Stress",
+                            target, BED_TYPE, LocalDateTime.now().withNano(0), null);
+                    Thread thread = new Thread(() -> {
+                        try {
+                            start.await();
+                            if (NEW_PATIENT.persistAdmission(form) == null) {
+                                roundRefused.incrementAndGet();
+                            } else {
+                                admitted.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.add(ex);
+                            start.reset();
+                        }
+                    }, "desk-" + desk);
+                    threads.add(thread);
+                    thread.start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                refused.addAndGet(roundRefused.get());
+
+                errors.forEach(error -> failures.add("Round " + round + ": desk failed: " + error));
+                if (roundRefused.get() != desks - rooms) {
+                    failures.add("Round " + round + ": " + roundRefused.get() + " desks refused, expected " + (desks - rooms));
+                }
+                failures.addAll(checkRound(round));
+                releaseRound();
+            }
+        } finally {
+            removeScratchData();
+        }
+
+        System.out.printf("%d admissions, %d refused in %d ms%n", admitted.get(), refused.get(),
+                (System.nanoTime() - started) / 1_000_000);
+        if (!failures.isEmpty()) {
+            failures.forEach(System.out::println);
+            System.exit(1);
+        }
+        System.out.println("OK: no room was booked twice");
+        System.exit(0);
+    }
+
+    private static void createRooms(int rooms) throws SQLException {
+        try (conn c = new conn(); PreparedStatement insert = c.connection.prepareStatement(
+                "insert into room (room_no, Availability, Price, Bed_Type) values (?, 'Available', ?, ?)")) {
+            for (int room = 0; room < rooms; room++) {
+                insert.setInt(1, FIRST_ROOM + room);
+                insert.setInt(2, 1_000 + room * 10);
+                insert.setString(3, BED_TYPE);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /** Every admitted patient has a room of its own, and a scratch room is occupied exactly when someone has it. */
+    private static List<String> checkRound(int round) throws SQLException {
+        List<String> failures = new ArrayList<>();
+        Map<Integer, Integer> patientsPerRoom = new HashMap<>();
+        try (conn c = new conn(); PreparedStatement select = c.connection.prepareStatement(
+                "select Room_Number, count(*) from Patient_Info where number like ? group by Room_Number")) {
+            select.setString(1, NUMBER_PREFIX + "%");
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    patientsPerRoom.put(rs.getInt(1), rs.getInt(2));
+                    if (rs.getInt(2) > 1) {
+                        failures.add("Round " + round + ": room " + rs.getInt(1) + " was booked " + rs.getInt(2) + " times");
+                    }
+                }
+            }
+            try (ResultSet rs = c.statement.executeQuery(
+                    "select room_no, Availability from room where Bed_Type = '" + BED_TYPE + "'")) {
+                while (rs.next()) {
+                    boolean occupied = "Occupied".equals(rs.getString(2));
+                    boolean booked = patientsPerRoom.containsKey(rs.getInt(1));
+                    if (occupied != booked) {
+                        failures.add("Round " + round + ": room " + rs.getInt(1) + " is " + rs.getString(2)
+                                + (booked ? " but has a patient" : " but has no patient"));
+                    }
+                }
+            }
+        }
+        patientsPerRoom.keySet().stream()
+                .filter(room -> room < FIRST_ROOM)
+                .forEach(room -> failures.add("Round " + round + ": a patient was put in real room " + room));
+        return failures;
+    }
+
+    private static void releaseRound() throws SQLException {
+        try (conn c = new conn(); PreparedStatement delete = c.connection.prepareStatement(
+                "delete from Patient_Info where number like ?")) {
+            delete.setString(1, NUMBER_PREFIX + "%");
+            delete.executeUpdate();
+            c.statement.executeUpdate("update room set Availability = 'Available' where Bed_Type = '" + BED_TYPE + "'");
+        }
+    }
+
+    private static void removeScratchData() throws SQLException {
+        releaseRound();
+        try (conn c = new conn()) {
+            c.statement.executeUpdate("delete from room where Bed_Type = '" + BED_TYPE + "'");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package hospital.management.system;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * JMH benchmark for {@link IllustrationPanel.SvgPathParser}: every {@code d} attribute of the bundled
+ * illustrations, and one large synthetic path that uses each command of the grammar in absolute and relative
+ * form. Run it with {@code scripts/svg-path-benchmark.ps1}; the illustrations are read from
+ * {@code src/hospital/management/system/illustrations} unless {@code -Dhms.illustrations} names another folder.
+ * Add {@code -prof gc} to the JMH arguments to see the allocation rate per parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SvgPathParserBenchmark {
+
+    private static final Pattern PATH_DATA = Pattern.compile("\\sd\\s*=\\s*\"([^\"]*)\"");
+    private static final int SYNTHETIC_COMMANDS = 20_000;
+
+    private String[] bundledPaths;
+    private String syntheticPath;
+
+    @Setup
+    public void load() throws IOException {
+        Path folder = Path.of(System.getProperty("hms.illustrations", "src/hospital/management/system/illustrations"));
+        List<String> paths = new ArrayList<>();
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".svg")).sorted()::iterator) {
+                Matcher matcher = PATH_DATA.matcher(Files.readString(file, StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    paths.add(matcher.group(1));
+                }
+            }
+        }
+        if (paths.isEmpty()) {
+            throw new IllegalStateException("No path data found under " + folder.toAbsolutePath());
+        }
+        bundledPaths = paths.toArray(String[]::new);
+        syntheticPath = syntheticPath(SYNTHETIC_COMMANDS);
+    }
+
+    @Benchmark
+    public void bundledIllustrations(Blackhole blackhole) {
+        for (String data : bundledPaths) {
+            blackhole.consume(IllustrationPanel.SvgPathParser.parse(data));
+        }
+    }
+
+    @Benchmark
+    public Object syntheticPath() {
+        return IllustrationPanel.SvgPathParser.parse(syntheticPath);
+    }
+
+    /** Cycles through every command, alternating absolute and relative forms, with compact and spaced numbers. */
+    private static String syntheticPath(int commands) {
+        Random random = new Random(42);
+        StringBuilder data = new StringBuilder(commands * 24).append("M10 10");
+        String[] cycle = {"L", "H", "V", "C", "S", "Q", "T", "A"};
+        for (int i = 0; i < commands; i++) {
+            String command = cycle[i % cycle.length];
+            data.append(i % 2 == 0 ? command : command.toLowerCase(Locale.ROOT));
+            switch (command) {
+                case "L", "T" -> appendCoordinates(data, random, 2);
+                case "H", "V" -> appendCoordinates(data, random, 1);
+                case "C" -> appendCoordinates(data, random, 6);
+                case "S", "Q" -> appendCoordinates(data, random, 4);
+                default -> {
+                    appendCoordinates(data, random, 3);
+                    // Flags without separators, as minifiers write them.
+                    data.append(' ').append(random.nextInt(2)).append(random.nextInt(2));
+                    appendCoordinates(data, random, 2);
+                }
+            }
+            if (i % 500 == 499) {
+                data.append("zm").append(random.nextInt(50)).append(',').append(random.nextInt(50));
+            }
+        }
+        return data.append('Z').toString();
+    }
+
+    private static void appendCoordinates(StringBuilder data, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            double value = (random.nextDouble() - 0.5) * 200;
+            // Negative numbers need no separator; positive ones get a space or a comma.
+            if (value >= 0) {
+                data.append(i % 2 == 0 ? ' ' : ',');
+            }
+            data.append(String.format(Locale.ROOT, "%.3f", value));
+        }
+    }
+}
@@ -29,6 +29,12 @@ if (Test-Path $assetsSource) {
     Get-ChildItem -Path $assetsSource -File | Where-Object { $_.Extension -in '.svg', '.png' } | ForEach-Object {
         Copy-Item -Path $_.FullName -Destination $assetsDestination -Force
     }
+
+    Write-Host "Compiling illustration bundle..."
+    java -Djava.awt.headless=true -cp $outDir hospital.management.system.IllustrationBundle $assetsSource (Join-Path $assetsDestination "illustrations.bin")
+    if ($LASTEXITCODE -ne 0) {
+        throw "Illustration bundle compilation failed."
+    }
 }
 
 if ([string]::IsNullOrWhiteSpace($ConnectorPath)) {
@@ -0,0 +1,35 @@
+param(
+    [string]$ConnectorPath = "",
+    [int]$Patients = 100000
+)
+
+$ErrorActionPreference = "Stop"
+
+$projectRoot = (Resolve-Path -Path (Join-Path $PSScriptRoot ".." )).Path
+Set-Location $projectRoot
+
+$outDir = Join-Path $projectRoot "out-bench\lookup"
+if (Test-Path $outDir) {
+    Remove-Item $outDir -Recurse -Force
+}
+
+Write-Host "Compiling sources and benchmark..."
+$sourceDir = Join-Path $projectRoot "src\hospital\management\system"
+$sources = @(Get-ChildItem -Path $sourceDir -Filter *.java | ForEach-Object { $_.FullName })
+$sources += Join-Path $PSScriptRoot "PatientLookupBenchmark.java"
+javac -d $outDir $sources
+
+if ([string]::IsNullOrWhiteSpace($ConnectorPath)) {
+    $ConnectorPath = Join-Path $projectRoot "mysql-connector-java-8.0.28.jar"
+}
+
+if (!(Test-Path $ConnectorPath)) {
+    throw "MySQL Connector/J JAR not found. Specify the path via -ConnectorPath."
+}
+
+Write-Host "Timing patient lookups over $Patients seeded patients..."
+$classpath = '"' + $outDir + ';' + $ConnectorPath + '"'
+java -Djava.awt.headless=true -cp $classpath hospital.management.system.PatientLookupBenchmark $Patients
+if ($LASTEXITCODE -ne 0) {
+    throw "Patient lookup benchmark failed."
+}
@@ -0,0 +1,25 @@
+param(
+    [int]$Patients = 500000
+)
+
+$ErrorActionPreference = "Stop"
+
+$projectRoot = (Resolve-Path -Path (Join-Path $PSScriptRoot ".." )).Path
+Set-Location $projectRoot
+
+$outDir = Join-Path $projectRoot "out-bench\search"
+if (Test-Path $outDir) {
+    Remove-Item $outDir -Recurse -Force
+}
+
+Write-Host "Compiling sources and benchmark..."
+$sourceDir = Join-Path $projectRoot "src\hospital\management\system"
+$sources = @(Get-ChildItem -Path $sourceDir -Filter *.java | ForEach-Object { $_.FullName })
+$sources += Join-Path $PSScriptRoot "PatientSearchBenchmark.java"
+javac -d $outDir $sources
+
+Write-Host "Timing quick-search lookups over $Patients patients..."
+java -Xmx1g -Djava.awt.headless=true -cp $outDir hospital.management.system.PatientSearchBenchmark $Patients
+if ($LASTEXITCODE -ne 0) {
+    throw "Patient search benchmark failed."
+}
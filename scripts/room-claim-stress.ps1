@@ -0,0 +1,36 @@
+param(
+    [string]$ConnectorPath = "",
+    [int]$Desks = 16,
+    [int]$Rounds = 200
+)
+
+$ErrorActionPreference = "Stop"
+
+$projectRoot = (Resolve-Path -Path (Join-Path $PSScriptRoot ".." )).Path
+Set-Location $projectRoot
+
+$outDir = Join-Path $projectRoot "out-stress"
+if (Test-Path $outDir) {
+    Remove-Item $outDir -Recurse -Force
+}
+
+Write-Host "Compiling sources and stress harness..."
+$sourceDir = Join-Path $projectRoot "src\hospital\management\system"
+$sources = @(Get-ChildItem -Path $sourceDir -Filter *.java | ForEach-Object { $_.FullName })
+$sources += Join-Path $PSScriptRoot "RoomClaimStress.java"
+javac -d $outDir $sources
+
+if ([string]::IsNullOrWhiteSpace($ConnectorPath)) {
+    $ConnectorPath = Join-Path $projectRoot "mysql-connector-java-8.0.28.jar"
+}
+
+if (!(Test-Path $ConnectorPath)) {
+    throw "MySQL Connector/J JAR not found. Specify the path via -ConnectorPath."
+}
+
+Write-Host "Admitting patients from $Desks desks at once..."
+$classpath = '"' + $outDir + ';' + $ConnectorPath + '"'
+java -Djava.awt.headless=true -cp $classpath hospital.management.system.RoomClaimStress $Desks $Rounds
+if ($LASTEXITCODE -ne 0) {
+    throw "Room claim stress test failed."
+}
@@ -0,0 +1,58 @@
+param(
+    [string]$JmhDirectory = "",
+    [string]$JmhArguments = ""
+)
+
+$ErrorActionPreference = "Stop"
+
+$projectRoot = (Resolve-Path -Path (Join-Path $PSScriptRoot ".." )).Path
+Set-Location $projectRoot
+
+$outDir = Join-Path $projectRoot "out-bench"
+$classesDir = Join-Path $outDir "classes"
+if (Test-Path $classesDir) {
+    Remove-Item $classesDir -Recurse -Force
+}
+
+# JMH is only needed for benchmarks, so it is fetched on demand instead of living in the repository.
+$jmhJars = @(
+    "org/openjdk/jmh/jmh-core/1.37/jmh-core-1.37.jar",
+    "org/openjdk/jmh/jmh-generator-annprocess/1.37/jmh-generator-annprocess-1.37.jar",
+    "net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar",
+    "org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar"
+)
+if ([string]::IsNullOrWhiteSpace($JmhDirectory)) {
+    $JmhDirectory = Join-Path $outDir "lib"
+    New-Item -ItemType Directory -Path $JmhDirectory -Force | Out-Null
+    foreach ($jar in $jmhJars) {
+        $target = Join-Path $JmhDirectory (Split-Path $jar -Leaf)
+        if (!(Test-Path $target)) {
+            Write-Host "Downloading $(Split-Path $jar -Leaf)..."
+            Invoke-WebRequest -Uri "https://repo1.maven.org/maven2/$jar" -OutFile $target
+        }
+    }
+}
+$libraries = @($jmhJars | ForEach-Object { Join-Path $JmhDirectory (Split-Path $_ -Leaf) })
+foreach ($library in $libraries) {
+    if (!(Test-Path $library)) {
+        throw "JMH library not found: $library. Specify a folder holding the JMH jars via -JmhDirectory."
+    }
+}
+
+Write-Host "Compiling sources and benchmark..."
+$sourceDir = Join-Path $projectRoot "src\hospital\management\system"
+$sources = @(Get-ChildItem -Path $sourceDir -Filter *.java | ForEach-Object { $_.FullName })
+$sources += Join-Path $PSScriptRoot "SvgPathParserBenchmark.java"
+# An explicit processor path keeps the JMH generator running on JDKs that no longer scan the classpath for it.
+javac -d $classesDir -cp ($libraries -join ';') -processorpath ($libraries -join ';') $sources
+
+Write-Host "Benchmarking SVG path parsing..."
+$classpath = (@($classesDir) + $libraries) -join ';'
+$arguments = @("-cp", $classpath, "org.openjdk.jmh.Main", "SvgPathParserBenchmark")
+if (![string]::IsNullOrWhiteSpace($JmhArguments)) {
+    $arguments += $JmhArguments -split ' '
+}
+java @arguments
+if ($LASTEXITCODE -ne 0) {
+    throw "SVG path benchmark failed."
+}
@@ -29,12 +29,83 @@ CREATE TABLE IF NOT EXISTS Patient_Info (
     Disease VARCHAR(100),
     Room_Number INT NOT NULL,
     Time VARCHAR(100) NOT NULL,
+    Admitted_At DATETIME NULL,
     Deposite INT NOT NULL,
     Admission_Reason TEXT,
     PRIMARY KEY (number),
+    INDEX idx_patient_name (Name),
+    INDEX idx_patient_disease (Disease),
+    INDEX idx_patient_room (Room_Number),
+    INDEX idx_patient_admitted_at (Admitted_At),
+    FULLTEXT INDEX ft_patient_search (Name, Disease),
     CONSTRAINT fk_patient_room FOREIGN KEY (Room_Number) REFERENCES room (room_no)
 );
 
+-- Closed stays. Discharge moves the Patient_Info row here in the same transaction, so the active table only
+-- holds current patients. One partition per discharge month keeps statement exports to a single partition.
+-- The partitions below run to the end of 2027; on every start-up the application splits further months off
+-- p_future so that the next twelve months always have partitions of their own.
+-- Partitioned InnoDB tables cannot have foreign keys, so Room_Number is not tied to room.
+CREATE TABLE IF NOT EXISTS Patient_Discharge (
+    discharge_id BIGINT NOT NULL AUTO_INCREMENT,
+    ID VARCHAR(100) NOT NULL,
+    number VARCHAR(100) NOT NULL,
+    Name VARCHAR(100) NOT NULL,
+    Gender ENUM('Male', 'Female', 'Other') NOT NULL,
+    Disease VARCHAR(100),
+    Room_Number INT NOT NULL,
+    Bed_Type VARCHAR(50),
+    Checked_In DATETIME NOT NULL,
+    Checked_Out DATETIME NOT NULL,
+    Stay_Days INT NOT NULL,
+    Room_Rate INT NOT NULL,
+    Room_Charge INT NOT NULL,
+    Deposite INT NOT NULL,
+    Balance INT NOT NULL,
+    PRIMARY KEY (discharge_id, Checked_Out),
+    INDEX idx_discharge_checked_out (Checked_Out),
+    INDEX idx_discharge_patient (number)
+)
+PARTITION BY RANGE COLUMNS (Checked_Out) (
+    PARTITION p2025_01 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p2025_02 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p2025_03 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p2025_04 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p2025_05 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p2025_06 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p2025_07 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p2025_08 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p2025_09 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p2025_10 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p2025_11 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p2025_12 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026_01 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p2026_02 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p2026_03 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p2026_04 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p2026_05 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p2026_06 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p2026_07 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p2026_08 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p2026_09 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p2026_10 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p2026_11 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p2026_12 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p2027_01 VALUES LESS THAN ('2027-02-01'),
+    PARTITION p2027_02 VALUES LESS THAN ('2027-03-01'),
+    PARTITION p2027_03 VALUES LESS THAN ('2027-04-01'),
+    PARTITION p2027_04 VALUES LESS THAN ('2027-05-01'),
+    PARTITION p2027_05 VALUES LESS THAN ('2027-06-01'),
+    PARTITION p2027_06 VALUES LESS THAN ('2027-07-01'),
+    PARTITION p2027_07 VALUES LESS THAN ('2027-08-01'),
+    PARTITION p2027_08 VALUES LESS THAN ('2027-09-01'),
+    PARTITION p2027_09 VALUES LESS THAN ('2027-10-01'),
+    PARTITION p2027_10 VALUES LESS THAN ('2027-11-01'),
+    PARTITION p2027_11 VALUES LESS THAN ('2027-12-01'),
+    PARTITION p2027_12 VALUES LESS THAN ('2028-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
 CREATE TABLE IF NOT EXISTS EMP_INFO (
     Name VARCHAR(100) NOT NULL,
     Age INT NOT NULL,
@@ -54,6 +125,25 @@ CREATE TABLE IF NOT EXISTS Ambulance (
     PRIMARY KEY (Name, Car_Name)
 );
 
+-- Single row bumped in the same transaction as every admission, discharge and patient edit.
+-- Desks poll it to learn that something changed without re-running their dashboard queries.
+CREATE TABLE IF NOT EXISTS change_version (
+    id TINYINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+INSERT IGNORE INTO change_version (id, version) VALUES (1, 0);
+
+-- Versions applied by the application's migration runner (SchemaMigrations). Databases created from this
+-- script already have every change; the runner finds them in place and records the versions on first launch.
+CREATE TABLE IF NOT EXISTS schema_migration (
+    version INT NOT NULL,
+    description VARCHAR(200) NOT NULL,
+    applied_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (version)
+);
+
 CREATE USER 'team_member'@'localhost' IDENTIFIED BY 'StrongPass!23';
 GRANT ALL ON hospital_management_system.* TO 'team_member'@'localhost';
 FLUSH PRIVILEGES;
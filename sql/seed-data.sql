@@ -42,9 +42,9 @@ INSERT INTO Ambulance (Name, Gender, Car_Name, Available, Location) VALUES
     ('Priya Patel', 'Female', 'Ford Transit', 'No', 'On Call')
 ON DUPLICATE KEY UPDATE Available = VALUES(Available), Location = VALUES(Location);
 
-INSERT INTO Patient_Info (ID, number, Name, Gender, Disease, Room_Number, Time, Deposite, Admission_Reason) VALUES
-    ('Aadhar Card', '999988887777', 'Rahul Kumar', 'Male', 'Cardiology', 103, '2025-09-01 10:00', 1000, 'Scheduled angiography and observation'),
-    ('Voter Id', 'ABC1234567', 'Anita Sharma', 'Female', 'Neurology', 101, '2025-09-10 09:30', 1500, 'Migraine workup and pain management'),
-    ('Passport', 'MNO4567890', 'Priya Nair', 'Female', 'Orthopedics', 202, '2025-09-18 14:20', 1600, 'ACL reconstruction post-operative care'),
-    ('Driving License', 'DL09X1234', 'Sameer Bhatia', 'Male', 'Emergency Medicine', 301, '2025-09-22 22:15', 1400, 'Trauma observation and neurologic monitoring')
-ON DUPLICATE KEY UPDATE Name = VALUES(Name), Gender = VALUES(Gender), Disease = VALUES(Disease), Room_Number = VALUES(Room_Number), Time = VALUES(Time), Deposite = VALUES(Deposite), Admission_Reason = VALUES(Admission_Reason);
+INSERT INTO Patient_Info (ID, number, Name, Gender, Disease, Room_Number, Time, Admitted_At, Deposite, Admission_Reason) VALUES
+    ('Aadhar Card', '999988887777', 'Rahul Kumar', 'Male', 'Cardiology', 103, '2025-09-01 10:00', '2025-09-01 10:00', 1000, 'Scheduled angiography and observation'),
+    ('Voter Id', 'ABC1234567', 'Anita Sharma', 'Female', 'Neurology', 101, '2025-09-10 09:30', '2025-09-10 09:30', 1500, 'Migraine workup and pain management'),
+    ('Passport', 'MNO4567890', 'Priya Nair', 'Female', 'Orthopedics', 202, '2025-09-18 14:20', '2025-09-18 14:20', 1600, 'ACL reconstruction post-operative care'),
+    ('Driving License', 'DL09X1234', 'Sameer Bhatia', 'Male', 'Emergency Medicine', 301, '2025-09-22 22:15', '2025-09-22 22:15', 1400, 'Trauma observation and neurologic monitoring')
+ON DUPLICATE KEY UPDATE Name = VALUES(Name), Gender = VALUES(Gender), Disease = VALUES(Disease), Room_Number = VALUES(Room_Number), Time = VALUES(Time), Admitted_At = VALUES(Admitted_At), Deposite = VALUES(Deposite), Admission_Reason = VALUES(Admission_Reason);
@@ -12,16 +12,30 @@ import javax.swing.RowFilter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 public class ALL_Patient_Info extends JFrame {
 
+    private static final int DEFAULT_CLIENT_SIDE_LIMIT = 20_000;
+    private static final int CLIENT_SIDE_LIMIT = clientSideLimit();
+    private static final int FULLTEXT_MIN_WORD_LENGTH = 3;
+
+    private static final int SERVER_SEARCH_DEBOUNCE_MS = 250;
+    private static final int LOCAL_SEARCH_DEBOUNCE_MS = 120;
+
     private final JTable table;
     private TableRowSorter<TableModel> sorter;
     private final JTextField filterField;
     private final JButton inspectButton;
+    private DataAccessExecutor.Task loadTask;
+    private PagedPatientTableModel pagedModel;
+    private PatientSearchIndex searchIndex;
+    private Timer searchDebounce;
 
     public ALL_Patient_Info() {
         super("Patient directory");
@@ -78,54 +92,207 @@ public class ALL_Patient_Info extends JFrame {
         setVisible(true);
     }
 
+    /** Opens the directory, deciding afresh whether it fits in memory; runs on open and on Refresh. */
     private void loadPatients() {
-        try (conn c = new conn();
-             ResultSet resultSet = c.statement.executeQuery("select * from Patient_Info")) {
-            TableModel model = ResultSetTableModelBuilder.buildTableModel(resultSet);
-            table.setModel(model);
-            if (sorter == null) {
-                sorter = new TableRowSorter<>(model);
-                table.setRowSorter(sorter);
-            } else {
-                sorter.setModel(model);
-            }
-            configureColumns();
-            applyFilter(filterField.getText());
-            inspectButton.setEnabled(table.getSelectedRow() >= 0);
-        } catch (Exception ex) {
+        String query = filterField.getText();
+        submitLoad(task -> loadDirectoryModel(query, task));
+    }
+
+    /** Re-runs the server-side search against the paged model, keeping the mode chosen by {@link #loadPatients()}. */
+    private void searchServer() {
+        String query = filterField.getText();
+        submitLoad(task -> new DirectoryData(openPagedModel(query, task), null));
+    }
+
+    private void submitLoad(DataAccessExecutor.CancellableQuery<DirectoryData> load) {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loadTask = DataAccessExecutor.submitCancellable(load, this::installModel, ex -> {
+            setCursor(Cursor.getDefaultCursor());
             JOptionPane.showMessageDialog(this, "Unable to fetch patient records: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    /**
+     * Small directories are copied into memory and indexed so sorting and quick search stay instant; beyond
+     * {@link #CLIENT_SIDE_LIMIT} rows the table is backed by a paged model and searches go to MySQL.
+     */
+    private static DirectoryData loadDirectoryModel(String query, DataAccessExecutor.Task task) throws SQLException {
+        int total = PagedPatientTableModel.countAll(task);
+        if (total <= CLIENT_SIDE_LIMIT) {
+            TableModel model = ResultSetTableModelBuilder.query("select * from Patient_Info");
+            return new DirectoryData(model, PatientSearchIndex.build(model));
+        }
+        return new DirectoryData(openPagedModel(query, task), null);
+    }
+
+    /**
+     * Upper bound for copying the directory into memory: {@code directory.clientSideLimit} from
+     * db.properties, capped so the rows and their search index stay within a tenth of the heap
+     * at roughly a kilobyte per patient.
+     */
+    private static int clientSideLimit() {
+        int configured = DEFAULT_CLIENT_SIDE_LIMIT;
+        String value = conn.loadProperties().getProperty("directory.clientSideLimit");
+        if (value != null && !value.isBlank()) {
+            try {
+                configured = Integer.parseInt(value.trim());
+            } catch (NumberFormatException ignored) {
+            }
         }
+        long heapBound = Runtime.getRuntime().maxMemory() / 10 / 1024;
+        return (int) Math.max(0, Math.min(configured, heapBound));
+    }
+
+    /**
+     * Server-side search used above the client-side limit. Words of three or more characters go through the
+     * FULLTEXT index on name and department; shorter input falls back to prefix {@code LIKE} predicates on the
+     * single-column indexes. Patient numbers and rooms are always matched through their keys. Each of these
+     * is a separate branch, so every one of them can use its index.
+     */
+    private static PagedPatientTableModel openPagedModel(String query, DataAccessExecutor.Task task) throws SQLException {
+        List<String> words = searchWords(query);
+        List<PagedPatientTableModel.Branch> branches = new ArrayList<>();
+        if (words.isEmpty()) {
+            return PagedPatientTableModel.open(branches, task);
+        }
+
+        if (SchemaCapabilities.current().patientFullText() && words.stream().allMatch(word -> word.length() >= FULLTEXT_MIN_WORD_LENGTH)) {
+            StringBuilder booleanQuery = new StringBuilder();
+            for (String word : words) {
+                booleanQuery.append(booleanQuery.length() == 0 ? "+" : " +").append(word).append('*');
+            }
+            branches.add(new PagedPatientTableModel.Branch("match(Name, Disease) against (? in boolean mode)", booleanQuery.toString()));
+            branches.add(new PagedPatientTableModel.Branch("number like ?", escapeLike(words.get(0)) + "%"));
+        } else {
+            String prefix = escapeLike(query.trim()) + "%";
+            branches.add(new PagedPatientTableModel.Branch("Name like ?", prefix));
+            branches.add(new PagedPatientTableModel.Branch("number like ?", prefix));
+            branches.add(new PagedPatientTableModel.Branch("Disease like ?", prefix));
+        }
+        if (words.size() == 1 && words.get(0).chars().allMatch(Character::isDigit) && words.get(0).length() <= 9) {
+            branches.add(new PagedPatientTableModel.Branch("Room_Number = ?", Integer.parseInt(words.get(0))));
+        }
+        return PagedPatientTableModel.open(branches, task);
+    }
+
+    private static List<String> searchWords(String query) {
+        List<String> words = new ArrayList<>();
+        if (query == null) {
+            return words;
+        }
+        for (String part : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!part.isEmpty()) {
+                words.add(part);
+            }
+        }
+        return words;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private void installModel(DirectoryData data) {
+        setCursor(Cursor.getDefaultCursor());
+        TableModel model = data.model();
+        searchIndex = data.index();
+        if (pagedModel != null && pagedModel != model) {
+            pagedModel.close();
+        }
+        table.setModel(model);
+        if (model instanceof PagedPatientTableModel paged) {
+            pagedModel = paged;
+            table.setRowSorter(null);
+            sorter = null;
+        } else {
+            pagedModel = null;
+            sorter = new TableRowSorter<>(model);
+            table.setRowSorter(sorter);
+            runLocalSearch(filterField.getText());
+        }
+        configureColumns();
+        inspectButton.setEnabled(table.getSelectedRow() >= 0);
+    }
+
+    private void scheduleSearch() {
+        if (searchDebounce == null) {
+            searchDebounce = new Timer(LOCAL_SEARCH_DEBOUNCE_MS, e -> {
+                if (pagedModel != null) {
+                    searchServer();
+                } else {
+                    runLocalSearch(filterField.getText());
+                }
+            });
+            searchDebounce.setRepeats(false);
+        }
+        searchDebounce.setInitialDelay(pagedModel != null ? SERVER_SEARCH_DEBOUNCE_MS : LOCAL_SEARCH_DEBOUNCE_MS);
+        searchDebounce.restart();
+    }
+
+    /**
+     * Resolves the query against the prefix index and installs a filter that is a single bit test per row,
+     * instead of running a regular expression over every cell. The lookup is a binary search and a bitset
+     * union over at most {@link #CLIENT_SIDE_LIMIT} rows, so it runs right here on the event dispatch thread
+     * and leaves the database workers to the database.
+     */
+    private void runLocalSearch(String query) {
+        if (searchIndex == null || sorter == null) {
+            return;
+        }
+        BitSet matches = searchIndex.search(query);
+        sorter.setRowFilter(matches == null ? null : rowsFilter(matches));
+    }
+
+    private static RowFilter<TableModel, Integer> rowsFilter(BitSet rows) {
+        return new RowFilter<>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return rows.get(entry.getIdentifier());
+            }
+        };
+    }
+
+    @Override
+    public void dispose() {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        if (searchDebounce != null) {
+            searchDebounce.stop();
+        }
+        if (pagedModel != null) {
+            pagedModel.close();
+        }
+        super.dispose();
     }
 
     private DocumentListener createFilterListener() {
         return new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
-                applyFilter(filterField.getText());
+                applyFilter();
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                applyFilter(filterField.getText());
+                applyFilter();
             }
 
             @Override
             public void changedUpdate(DocumentEvent e) {
-                applyFilter(filterField.getText());
+                applyFilter();
             }
         };
     }
 
-    private void applyFilter(String query) {
-        if (sorter == null) {
-            return;
-        }
-        if (query == null || query.isBlank()) {
-            sorter.setRowFilter(null);
+    private void applyFilter() {
+        if (pagedModel == null && sorter == null) {
             return;
         }
-        String expression = Pattern.quote(query.trim());
-        sorter.setRowFilter(RowFilter.regexFilter("(?i)" + expression));
+        scheduleSearch();
     }
 
     private void openSelectedPatient() {
@@ -137,6 +304,9 @@ public class ALL_Patient_Info extends JFrame {
 
         int modelRow = table.convertRowIndexToModel(viewRow);
         TableModel model = table.getModel();
+        if (model instanceof PagedPatientTableModel paged && !paged.isRowLoaded(modelRow)) {
+            return;
+        }
         int numberIndex = findColumnIndex(model, "number");
         if (numberIndex < 0) {
             JOptionPane.showMessageDialog(this, "Patient identifier column is missing.", "Unable to inspect", JOptionPane.WARNING_MESSAGE);
@@ -168,6 +338,7 @@ public class ALL_Patient_Info extends JFrame {
         adjustColumn(columnModel, "Disease", "Department", 180);
         adjustColumn(columnModel, "Room_Number", "Room", 110);
         adjustColumn(columnModel, "Time", "Check-in time", 180);
+        hideColumn(columnModel, "Admitted_At");
         adjustColumn(columnModel, "Deposite", "Deposit (₹)", 140);
 
         table.getTableHeader().repaint();
@@ -185,6 +356,14 @@ public class ALL_Patient_Info extends JFrame {
         column.setPreferredWidth(preferredWidth);
     }
 
+    /** The typed copy of the check-in time is for queries; the directory already shows it as text. */
+    private void hideColumn(TableColumnModel columnModel, String identifier) {
+        int index = getColumnIndex(columnModel, identifier);
+        if (index >= 0) {
+            columnModel.removeColumn(columnModel.getColumn(index));
+        }
+    }
+
     private int getColumnIndex(TableColumnModel columnModel, String identifier) {
         try {
             return columnModel.getColumnIndex(identifier);
@@ -253,6 +432,9 @@ public class ALL_Patient_Info extends JFrame {
         return wrapper;
     }
 
+    private record DirectoryData(TableModel model, PatientSearchIndex index) {
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(ALL_Patient_Info::new);
     }
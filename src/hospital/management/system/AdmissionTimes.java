@@ -0,0 +1,109 @@
+package hospital.management.system;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Admission time of active patients. {@code Patient_Info.Time} is free text ("Oct 18, 2026 14:20" from the
+ * admission form, "2025-09-01 10:00" from the seed data); the typed, indexed {@code Admitted_At} column next to
+ * it is what readers bind and range-scan. Older databases get the column, its index and the values for legacy
+ * rows from {@link SchemaMigrations}; the backfill only touches rows still missing a value, so an interrupted run
+ * simply resumes on the next launch.
+ *
+ * <p>Until {@link SchemaCapabilities} reports the column, queries select {@code null as Admitted_At} and readers
+ * fall back to parsing the text, so screens behave the same during and after the migration.
+ */
+final class AdmissionTimes {
+
+    static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm", Locale.ENGLISH);
+
+    private static final List<DateTimeFormatter> LEGACY_FORMATS = List.of(
+            DISPLAY_FORMAT,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.ENGLISH)
+    );
+
+    private AdmissionTimes() {
+    }
+
+    /** Whether {@code Patient_Info.Admitted_At} exists, so writers should fill it and queries may select it. */
+    static boolean typedColumnReady() throws SQLException {
+        return SchemaCapabilities.current().admittedAt();
+    }
+
+    /** Select-list entry for the typed admission time of the {@code Patient_Info} row aliased {@code alias}. */
+    static String selectColumn(String alias) throws SQLException {
+        return typedColumnReady() ? alias + ".Admitted_At" : "null as Admitted_At";
+    }
+
+    /** Reads the admission time from a row selected with {@link #selectColumn} and the {@code Time} column. */
+    static LocalDateTime read(ResultSet rs) throws SQLException {
+        LocalDateTime typed = rs.getObject("Admitted_At", LocalDateTime.class);
+        return typed != null ? typed : parseLegacy(rs.getString("Time"));
+    }
+
+    static String format(LocalDateTime value) {
+        return value.format(DISPLAY_FORMAT);
+    }
+
+    /** Parses the free-text formats found in {@code Patient_Info.Time}; returns {@code null} when none fits. */
+    static LocalDateTime parseLegacy(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        String trimmed = raw.trim();
+        for (DateTimeFormatter formatter : LEGACY_FORMATS) {
+            try {
+                return LocalDateTime.parse(trimmed, formatter);
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One chunk of the {@code Admitted_At} backfill for {@link SchemaMigrations}: fills the rows after
+     * {@code cursor}, in primary-key order, whose text parses. Rows whose text cannot be parsed are left empty
+     * and keep falling back to the text.
+     */
+    static SchemaMigrations.Chunk backfillChunk(conn c, String cursor, int limit) throws SQLException {
+        int scanned = 0;
+        List<String> numbers = new ArrayList<>(limit);
+        List<LocalDateTime> times = new ArrayList<>(limit);
+        try (PreparedStatement select = c.connection.prepareStatement(
+                "select number, Time from Patient_Info where Admitted_At is null and number > ? order by number limit ?")) {
+            select.setString(1, cursor);
+            select.setInt(2, limit);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    scanned++;
+                    cursor = rs.getString("number");
+                    LocalDateTime parsed = parseLegacy(rs.getString("Time"));
+                    if (parsed != null) {
+                        numbers.add(cursor);
+                        times.add(parsed);
+                    }
+                }
+            }
+        }
+        if (!numbers.isEmpty()) {
+            try (PreparedStatement update = c.connection.prepareStatement(
+                    "update Patient_Info set Admitted_At = ? where number = ? and Admitted_At is null")) {
+                for (int i = 0; i < numbers.size(); i++) {
+                    update.setObject(1, times.get(i));
+                    update.setString(2, numbers.get(i));
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        }
+        return new SchemaMigrations.Chunk(scanned, numbers.size(), cursor);
+    }
+}
@@ -3,11 +3,12 @@ package hospital.management.system;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.sql.ResultSet;
 
 public class Ambulance extends JFrame{
 
     private final JTable table;
+    private DataAccessExecutor.Task loadTask;
+    private final Runnable changeSubscription;
 
     public Ambulance(){
         super("Hospital ambulances");
@@ -20,6 +21,7 @@ public class Ambulance extends JFrame{
         table = UIComponents.styledTable();
         table.setAutoCreateRowSorter(true);
         loadAmbulances();
+        changeSubscription = ChangeEvents.subscribe(this::loadAmbulances, ChangeEvents.Topic.AMBULANCES);
 
         JPanel layout = UIComponents.pageContainer(
                 "Emergency fleet",
@@ -34,12 +36,26 @@ public class Ambulance extends JFrame{
     }
 
     private void loadAmbulances() {
-        try (conn c = new conn()) {
-            ResultSet resultSet = c.statement.executeQuery("select * from Ambulance");
-            table.setModel(ResultSetTableModelBuilder.buildTableModel(resultSet));
-        } catch (Exception ex) {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loadTask = DataAccessExecutor.submit(() -> ResultSetTableModelBuilder.query("select * from Ambulance"), model -> {
+            setCursor(Cursor.getDefaultCursor());
+            table.setModel(model);
+        }, ex -> {
+            setCursor(Cursor.getDefaultCursor());
             JOptionPane.showMessageDialog(this, "Unable to fetch ambulance records: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    @Override
+    public void dispose() {
+        if (loadTask != null) {
+            loadTask.cancel();
         }
+        changeSubscription.run();
+        super.dispose();
     }
 
     private JPanel buildTablePanel() {
@@ -0,0 +1,128 @@
+package hospital.management.system;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One frame timer for every animated component in the application. Animations register when they have
+ * something to move and are all stepped in the same event, so their {@code repaint()} calls reach the
+ * {@link javax.swing.RepaintManager} together and are painted as one merged dirty region per window.
+ * The timer only runs while an animation is active or waiting for its delayed start. Confined to the event
+ * dispatch thread.
+ */
+final class AnimationClock {
+
+    static final int FRAME_INTERVAL_MS = 16;
+
+    private static final long FRAME_INTERVAL_NANOS = FRAME_INTERVAL_MS * 1_000_000L;
+    private static final long ONE_SECOND_NANOS = 1_000_000_000L;
+
+    private static final Set<Animation> ACTIVE = new LinkedHashSet<>();
+    private static final Map<Animation, Long> DELAYED = new IdentityHashMap<>();
+    private static final Timer TIMER = new Timer(FRAME_INTERVAL_MS, event -> tick());
+
+    private static long lastTickNanos;
+    private static long windowStartNanos;
+    private static int framesInWindow;
+    private static int framesPerSecond;
+    private static long totalFrames;
+    private static long droppedFrames;
+
+    static {
+        TIMER.setCoalesce(true);
+    }
+
+    private AnimationClock() {
+    }
+
+    @FunctionalInterface
+    interface Animation {
+        /** Advances one frame; returns {@code false} once the animation has settled and can be dropped. */
+        boolean step();
+    }
+
+    /** Starts stepping {@code animation} on the next frame; registering an active animation again is a no-op. */
+    static void start(Animation animation) {
+        DELAYED.remove(animation);
+        ACTIVE.add(animation);
+        ensureRunning();
+    }
+
+    /** Starts {@code animation} after {@code delayMs} without a timer of its own (used for staggered intros). */
+    static void startAfter(Animation animation, int delayMs) {
+        if (delayMs <= 0) {
+            start(animation);
+            return;
+        }
+        DELAYED.put(animation, System.nanoTime() + delayMs * 1_000_000L);
+        ensureRunning();
+    }
+
+    /** Frame counters since start-up; {@link Diagnostics} logs them when enabled. */
+    static ClockMetrics metrics() {
+        return new ClockMetrics(framesPerSecond, totalFrames, droppedFrames, ACTIVE.size());
+    }
+
+    private static void ensureRunning() {
+        if (!TIMER.isRunning()) {
+            lastTickNanos = 0;
+            windowStartNanos = System.nanoTime();
+            framesInWindow = 0;
+            TIMER.start();
+        }
+    }
+
+    private static void tick() {
+        long now = System.nanoTime();
+        recordFrame(now);
+
+        if (!DELAYED.isEmpty()) {
+            DELAYED.entrySet().removeIf(entry -> {
+                if (entry.getValue() <= now) {
+                    ACTIVE.add(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        List<Animation> settled = new ArrayList<>();
+        for (Animation animation : ACTIVE) {
+            if (!animation.step()) {
+                settled.add(animation);
+            }
+        }
+        settled.forEach(ACTIVE::remove);
+
+        if (ACTIVE.isEmpty() && DELAYED.isEmpty()) {
+            TIMER.stop();
+            framesPerSecond = 0;
+        }
+    }
+
+    /** A gap of more than one and a half frame intervals counts the frames that should have fit in it as dropped. */
+    private static void recordFrame(long now) {
+        if (lastTickNanos != 0) {
+            long gap = now - lastTickNanos;
+            if (gap > FRAME_INTERVAL_NANOS * 3 / 2) {
+                droppedFrames += gap / FRAME_INTERVAL_NANOS - 1;
+            }
+        }
+        lastTickNanos = now;
+        totalFrames++;
+        framesInWindow++;
+        if (now - windowStartNanos >= ONE_SECOND_NANOS) {
+            framesPerSecond = (int) (framesInWindow * ONE_SECOND_NANOS / (now - windowStartNanos));
+            framesInWindow = 0;
+            windowStartNanos = now;
+        }
+    }
+
+    record ClockMetrics(int framesPerSecond, long totalFrames, long droppedFrames, int activeAnimations) {
+    }
+}
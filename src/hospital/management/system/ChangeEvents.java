@@ -0,0 +1,200 @@
+package hospital.management.system;
+
+import javax.swing.Timer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for "something was committed" notifications, backed by the single-row
+ * {@code change_version} table so that desks running in other JVMs notice each other's writes.
+ * Writers call {@link #bumpVersion(conn)} inside their transaction and {@link #publish(long, Topic...)}
+ * once it has committed; screens {@link #subscribe(Consumer) subscribe} and reload only when told to.
+ * Not every write goes through the version (ambulance and room edits, changes made outside the application),
+ * so while anyone is subscribed every topic is also reported stale once a minute in which nothing else was.
+ * A second row of the table counts schema migrations; when another desk migrates, the watcher re-probes
+ * {@link SchemaCapabilities} so this desk starts writing the new columns within one poll.
+ * Listeners, the watcher timer and the last seen version are confined to the event dispatch thread.
+ */
+final class ChangeEvents {
+
+    enum Topic {
+        PATIENTS,
+        ROOMS,
+        AMBULANCES,
+        DEPARTMENTS
+    }
+
+    static final long UNKNOWN_VERSION = -1;
+
+    private static final int DATA_VERSION_ID = 1;
+    private static final int SCHEMA_VERSION_ID = 2;
+    private static final int VERSION_POLL_INTERVAL_MS = 5_000;
+    // The old dashboard cadence: how stale a write the version does not cover may get.
+    private static final int FALLBACK_INTERVAL_MS = 60_000;
+    private static final long FALLBACK_INTERVAL_NANOS = FALLBACK_INTERVAL_MS * 1_000_000L;
+
+    private static final List<Consumer<Set<Topic>>> LISTENERS = new ArrayList<>();
+    private static final Timer WATCHER = new Timer(VERSION_POLL_INTERVAL_MS, event -> pollVersion());
+    // Checks four times per interval so a full refresh is never more than a quarter interval late.
+    private static final Timer FALLBACK_REFRESH = new Timer(FALLBACK_INTERVAL_MS / 4, event -> fallbackRefresh());
+
+    private static volatile boolean versionTableAvailable = true;
+    private static long lastSeenVersion = UNKNOWN_VERSION;
+    private static long lastPublishedNanos = System.nanoTime();
+    private static DataAccessExecutor.Task pollTask;
+    // Only read and written by readVersion, and polls never overlap.
+    private static long lastSchemaVersion = UNKNOWN_VERSION;
+
+    private ChangeEvents() {
+    }
+
+    /**
+     * Advances the shared change version on the caller's connection, so the increment commits or rolls
+     * back together with the write it describes. Returns the new version, or {@link #UNKNOWN_VERSION}
+     * when the database predates the {@code change_version} table.
+     */
+    static long bumpVersion(conn c) throws SQLException {
+        if (!SchemaCapabilities.current().changeVersion()) {
+            return UNKNOWN_VERSION;
+        }
+        try (PreparedStatement bump = c.connection.prepareStatement(
+                "update change_version set version = last_insert_id(version + 1) where id = " + DATA_VERSION_ID)) {
+            if (bump.executeUpdate() == 0) {
+                return UNKNOWN_VERSION;
+            }
+        }
+        try (ResultSet rs = c.statement.executeQuery("select last_insert_id()")) {
+            return rs.next() ? rs.getLong(1) : UNKNOWN_VERSION;
+        }
+    }
+
+    /** Records a schema change on the caller's connection, so other desks re-probe their capabilities. */
+    static void bumpSchemaVersion(conn c) throws SQLException {
+        if (!SchemaCapabilities.current().changeVersion()) {
+            return;
+        }
+        c.statement.executeUpdate("insert into change_version (id, version) values (" + SCHEMA_VERSION_ID + ", 1) "
+                + "on duplicate key update version = version + 1");
+    }
+
+    /**
+     * Tells every open screen in this JVM that the given topics changed. Call on the event dispatch thread
+     * after the transaction has committed, passing the version returned by {@link #bumpVersion(conn)} so the
+     * watcher does not report the same write a second time. The watcher only skips ahead when the write is
+     * the very next version; if another desk wrote in between, the gap is left for the watcher to announce
+     * as a change to every topic. No topics means all of them.
+     */
+    static void publish(long version, Topic... topics) {
+        if (version != UNKNOWN_VERSION && lastSeenVersion != UNKNOWN_VERSION && version == lastSeenVersion + 1) {
+            lastSeenVersion = version;
+        }
+        Set<Topic> changed = topicSet(topics);
+        if (changed.size() == Topic.values().length) {
+            lastPublishedNanos = System.nanoTime();
+        }
+        ReferenceDataCache.invalidate(changed);
+        for (Consumer<Set<Topic>> listener : new ArrayList<>(LISTENERS)) {
+            listener.accept(changed);
+        }
+    }
+
+    /** Starts delivering change notifications to {@code listener}; the returned handle unsubscribes. */
+    static Runnable subscribe(Consumer<Set<Topic>> listener) {
+        LISTENERS.add(listener);
+        if (!WATCHER.isRunning()) {
+            lastPublishedNanos = System.nanoTime();
+            WATCHER.start();
+            FALLBACK_REFRESH.start();
+        }
+        return () -> {
+            LISTENERS.remove(listener);
+            if (LISTENERS.isEmpty()) {
+                WATCHER.stop();
+                FALLBACK_REFRESH.stop();
+                if (pollTask != null) {
+                    pollTask.cancel();
+                    pollTask = null;
+                }
+            }
+        };
+    }
+
+    /** Convenience for screens that only care about some topics; no topics means all of them. */
+    static Runnable subscribe(Runnable onChange, Topic... topics) {
+        Set<Topic> wanted = topicSet(topics);
+        return subscribe(changed -> {
+            for (Topic topic : changed) {
+                if (wanted.contains(topic)) {
+                    onChange.run();
+                    return;
+                }
+            }
+        });
+    }
+
+    private static void pollVersion() {
+        if (pollTask != null && pollTask.isPending()) {
+            return;
+        }
+        if (!versionTableAvailable) {
+            // Nothing to watch; the fallback refresh keeps screens current until the table appears.
+            WATCHER.setDelay(FALLBACK_INTERVAL_MS);
+        }
+        // Keeps asking while the table is missing: the schema migration may create it during the session.
+        pollTask = DataAccessExecutor.submit(ChangeEvents::readVersion, version -> {
+            if (version == UNKNOWN_VERSION) {
+                return;
+            }
+            WATCHER.setDelay(VERSION_POLL_INTERVAL_MS);
+            long previous = lastSeenVersion;
+            if (previous == UNKNOWN_VERSION) {
+                lastSeenVersion = version;
+            } else if (version > previous) {
+                // Another process wrote; it did not say what, so every topic is considered stale.
+                lastSeenVersion = version;
+                publish(UNKNOWN_VERSION);
+            }
+        }, ex -> System.err.println("Unable to read change version: " + ex.getMessage()));
+    }
+
+    private static void fallbackRefresh() {
+        if (System.nanoTime() - lastPublishedNanos >= FALLBACK_INTERVAL_NANOS) {
+            publish(UNKNOWN_VERSION);
+        }
+    }
+
+    private static Set<Topic> topicSet(Topic... topics) {
+        return topics.length == 0 ? EnumSet.allOf(Topic.class) : EnumSet.of(topics[0], topics);
+    }
+
+    private static long readVersion() throws SQLException {
+        versionTableAvailable = SchemaCapabilities.current().changeVersion();
+        if (!versionTableAvailable) {
+            return UNKNOWN_VERSION;
+        }
+        long dataVersion = UNKNOWN_VERSION;
+        long schemaVersion = UNKNOWN_VERSION;
+        try (conn c = new conn(); ResultSet rs = c.statement.executeQuery("select id, version from change_version "
+                + "where id in (" + DATA_VERSION_ID + ", " + SCHEMA_VERSION_ID + ")")) {
+            while (rs.next()) {
+                if (rs.getInt(1) == DATA_VERSION_ID) {
+                    dataVersion = rs.getLong(2);
+                } else {
+                    schemaVersion = rs.getLong(2);
+                }
+            }
+        }
+        if (schemaVersion != lastSchemaVersion) {
+            // Also on the first poll: a migration may have landed between the start-up probe and now.
+            lastSchemaVersion = schemaVersion;
+            SchemaCapabilities.refresh();
+        }
+        return dataVersion;
+    }
+}
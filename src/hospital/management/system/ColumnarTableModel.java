@@ -0,0 +1,281 @@
+package hospital.management.system;
+
+import javax.swing.table.AbstractTableModel;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-only table model that stores each column in its own array instead of one boxed row per record.
+ * Integer columns keep an {@code int[]}, text columns are dictionary encoded while they stay repetitive
+ * (gender, bed type, availability, department) and fall back to a plain {@code String[]} once most
+ * values turn out to be unique (names, phone numbers).
+ */
+final class ColumnarTableModel extends AbstractTableModel {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int DICTIONARY_MIN_SIZE = 64;
+
+    private final String[] columnNames;
+    private final Column[] columns;
+    private final int rowCount;
+
+    private ColumnarTableModel(String[] columnNames, Column[] columns, int rowCount) {
+        this.columnNames = columnNames;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    static ColumnarTableModel from(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        String[] names = new String[columnCount];
+        ColumnBuilder[] builders = new ColumnBuilder[columnCount];
+        for (int column = 1; column <= columnCount; column++) {
+            String label = metaData.getColumnLabel(column);
+            if (label == null || label.isEmpty()) {
+                label = metaData.getColumnName(column);
+            }
+            names[column - 1] = label;
+            builders[column - 1] = builderFor(metaData.getColumnType(column));
+        }
+
+        int rows = 0;
+        while (resultSet.next()) {
+            for (int column = 0; column < columnCount; column++) {
+                builders[column].append(resultSet, column + 1, rows);
+            }
+            rows++;
+        }
+
+        Column[] columns = new Column[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            columns[column] = builders[column].build(rows);
+        }
+        return new ColumnarTableModel(names, columns, rows);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns[column].valueClass();
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    private static ColumnBuilder builderFor(int sqlType) {
+        return switch (sqlType) {
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> new IntColumnBuilder();
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR -> new DictionaryColumnBuilder();
+            default -> new ObjectColumnBuilder();
+        };
+    }
+
+    /** Collects one column while the result set is read, then hands over a trimmed, read-only {@link Column}. */
+    private abstract static class ColumnBuilder {
+        abstract void append(ResultSet resultSet, int index, int row) throws SQLException;
+
+        abstract Column build(int rows);
+
+        static int grow(int length, int required) {
+            return Math.max(required, Math.max(INITIAL_CAPACITY, length * 2));
+        }
+    }
+
+    private abstract static class Column {
+        abstract Object get(int row);
+
+        abstract Class<?> valueClass();
+    }
+
+    private static final class IntColumnBuilder extends ColumnBuilder {
+        private int[] values = new int[0];
+        private final BitSet nulls = new BitSet();
+
+        @Override
+        void append(ResultSet resultSet, int index, int row) throws SQLException {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            int value = resultSet.getInt(index);
+            if (resultSet.wasNull()) {
+                nulls.set(row);
+            } else {
+                values[row] = value;
+            }
+        }
+
+        @Override
+        Column build(int rows) {
+            return new IntColumn(Arrays.copyOf(values, rows), nulls);
+        }
+    }
+
+    private static final class IntColumn extends Column {
+        private final int[] values;
+        private final BitSet nulls;
+
+        IntColumn(int[] values, BitSet nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values[row];
+        }
+
+        @Override
+        Class<?> valueClass() {
+            return Integer.class;
+        }
+    }
+
+    private static final class DictionaryColumnBuilder extends ColumnBuilder {
+        private int[] codes = new int[0];
+        private String[] dictionary = new String[8];
+        private final Map<String, Integer> lookup = new HashMap<>();
+
+        @Override
+        void append(ResultSet resultSet, int index, int row) throws SQLException {
+            if (row >= codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, row + 1));
+            }
+            String value = resultSet.getString(index);
+            if (value == null) {
+                codes[row] = -1;
+                return;
+            }
+            Integer code = lookup.get(value);
+            if (code == null) {
+                code = lookup.size();
+                if (code >= dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+                }
+                dictionary[code] = value;
+                lookup.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        /**
+         * Keeps the dictionary only when it pays for itself; a column of mostly distinct values is
+         * cheaper as a flat array of the strings already read.
+         */
+        @Override
+        Column build(int rows) {
+            int distinct = lookup.size();
+            if (distinct > DICTIONARY_MIN_SIZE && distinct > rows / 2) {
+                String[] values = new String[rows];
+                for (int row = 0; row < rows; row++) {
+                    int code = codes[row];
+                    values[row] = code < 0 ? null : dictionary[code];
+                }
+                return new StringColumn(values);
+            }
+            return new DictionaryColumn(Arrays.copyOf(codes, rows), Arrays.copyOf(dictionary, distinct));
+        }
+    }
+
+    private static final class DictionaryColumn extends Column {
+        private final int[] codes;
+        private final String[] dictionary;
+
+        DictionaryColumn(int[] codes, String[] dictionary) {
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        Object get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary[code];
+        }
+
+        @Override
+        Class<?> valueClass() {
+            return String.class;
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        private final String[] values;
+
+        StringColumn(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        Class<?> valueClass() {
+            return String.class;
+        }
+    }
+
+    private static final class ObjectColumnBuilder extends ColumnBuilder {
+        private Object[] values = new Object[0];
+
+        @Override
+        void append(ResultSet resultSet, int index, int row) throws SQLException {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row + 1));
+            }
+            values[row] = resultSet.getObject(index);
+        }
+
+        @Override
+        Column build(int rows) {
+            return new ObjectColumn(Arrays.copyOf(values, rows));
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private final Object[] values;
+
+        ObjectColumn(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        Class<?> valueClass() {
+            return Object.class;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package hospital.management.system;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class ConnectionPool {
+
+    private static final int DEFAULT_MAX_SIZE = 8;
+    private static final int DEFAULT_MIN_IDLE = 2;
+    private static final long DEFAULT_BORROW_TIMEOUT_MS = 10_000;
+    private static final long DEFAULT_VALIDATION_IDLE_MS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static volatile ConnectionPool shared;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutNanos;
+    private final long validationIdleNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private int active;
+    private int pendingCreates;
+
+    private long borrowCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private long createdCount;
+    private long discardedCount;
+
+    private ConnectionPool(Properties properties) {
+        this.url = properties.getProperty("db.url");
+        this.user = properties.getProperty("db.user");
+        this.password = properties.getProperty("db.password");
+        this.maxSize = Math.max(1, intProperty(properties, "db.pool.maxSize", DEFAULT_MAX_SIZE));
+        this.minIdle = Math.max(0, Math.min(maxSize, intProperty(properties, "db.pool.minIdle", DEFAULT_MIN_IDLE)));
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(longProperty(properties, "db.pool.borrowTimeoutMs", DEFAULT_BORROW_TIMEOUT_MS));
+        this.validationIdleNanos = TimeUnit.MILLISECONDS.toNanos(longProperty(properties, "db.pool.validationIdleMs", DEFAULT_VALIDATION_IDLE_MS));
+    }
+
+    static ConnectionPool shared() {
+        ConnectionPool pool = shared;
+        if (pool == null) {
+            synchronized (ConnectionPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    pool = new ConnectionPool(conn.loadProperties());
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Opens connections until {@code db.pool.minIdle} are parked so the first screens skip the handshake.
+     * Failures are reported to stderr only; the next borrow surfaces the real error to the operator.
+     */
+    static void warmUpInBackground() {
+        Thread warmer = new Thread(() -> {
+            try {
+                shared().warmUp();
+            } catch (RuntimeException | SQLException ex) {
+                System.err.println("Connection pool warm-up failed: " + ex.getMessage());
+            }
+        }, "db-pool-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    void warmUp() throws SQLException {
+        loadDriver();
+        while (true) {
+            lock.lock();
+            try {
+                if (idle.size() + pendingCreates >= minIdle || active + idle.size() + pendingCreates >= maxSize) {
+                    return;
+                }
+                pendingCreates++;
+            } finally {
+                lock.unlock();
+            }
+
+            Connection connection = null;
+            try {
+                connection = openConnection();
+            } finally {
+                lock.lock();
+                try {
+                    pendingCreates--;
+                    if (connection != null) {
+                        idle.addFirst(new IdleConnection(connection, System.nanoTime()));
+                        available.signal();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long remaining = borrowTimeoutNanos;
+        boolean createNew = false;
+        IdleConnection candidate = null;
+
+        lock.lock();
+        try {
+            while (true) {
+                candidate = idle.pollFirst();
+                if (candidate != null) {
+                    active++;
+                    break;
+                }
+                if (active + pendingCreates < maxSize) {
+                    active++;
+                    createNew = true;
+                    break;
+                }
+                if (remaining <= 0) {
+                    throw new SQLException("Timed out waiting for a database connection (pool size " + maxSize + ").");
+                }
+                try {
+                    remaining = available.awaitNanos(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection.", ex);
+                }
+            }
+            recordWait(System.nanoTime() - start);
+        } finally {
+            lock.unlock();
+        }
+
+        if (createNew) {
+            try {
+                return openConnection();
+            } catch (SQLException | RuntimeException ex) {
+                releaseSlot(false);
+                throw ex;
+            }
+        }
+
+        if (isUsable(candidate)) {
+            return candidate.connection();
+        }
+
+        closeQuietly(candidate.connection());
+        try {
+            return openConnection();
+        } catch (SQLException | RuntimeException ex) {
+            releaseSlot(true);
+            throw ex;
+        }
+    }
+
+    void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        boolean reusable = resetForReuse(connection);
+        lock.lock();
+        try {
+            active = Math.max(0, active - 1);
+            if (reusable) {
+                idle.addFirst(new IdleConnection(connection, System.nanoTime()));
+            } else {
+                discardedCount++;
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (!reusable) {
+            closeQuietly(connection);
+        }
+    }
+
+    /** Counters since the pool was created; {@link Diagnostics} logs them when enabled. */
+    PoolMetrics metrics() {
+        lock.lock();
+        try {
+            long averageWait = borrowCount == 0 ? 0 : totalWaitNanos / borrowCount;
+            return new PoolMetrics(active, idle.size(), maxSize, borrowCount, averageWait, maxWaitNanos, createdCount, discardedCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordWait(long waitedNanos) {
+        borrowCount++;
+        totalWaitNanos += waitedNanos;
+        if (waitedNanos > maxWaitNanos) {
+            maxWaitNanos = waitedNanos;
+        }
+    }
+
+    private void releaseSlot(boolean discarded) {
+        lock.lock();
+        try {
+            active = Math.max(0, active - 1);
+            if (discarded) {
+                discardedCount++;
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isUsable(IdleConnection candidate) {
+        try {
+            if (candidate.connection().isClosed()) {
+                return false;
+            }
+            if (System.nanoTime() - candidate.idleSince() < validationIdleNanos) {
+                return true;
+            }
+            return candidate.connection().isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private boolean resetForReuse(Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        loadDriver();
+        Connection connection = DriverManager.getConnection(url, user, password);
+        lock.lock();
+        try {
+            createdCount++;
+        } finally {
+            lock.unlock();
+        }
+        return connection;
+    }
+
+    private static void loadDriver() {
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("MySQL JDBC driver not found on the classpath.", e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static int intProperty(Properties properties, String key, int fallback) {
+        return (int) longProperty(properties, key, fallback);
+    }
+
+    private static long longProperty(Properties properties, String key, long fallback) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return fallback;
+        }
+    }
+
+    private record IdleConnection(Connection connection, long idleSince) {
+    }
+
+    record PoolMetrics(int active, int idle, int maxSize, long borrows,
+                       long averageWaitNanos, long maxWaitNanos, long created, long discarded) {
+    }
+}
@@ -0,0 +1,106 @@
+package hospital.management.system;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Operational counters shown on every Reception window. One refresher per JVM reads all three numbers in a
+ * single round trip and fans the result out to the open windows, so extra desks add listeners rather than
+ * queries. The counters are re-read when {@link ChangeEvents} reports a committed change, here or on another
+ * desk, and at least once a minute for writes the change version does not see. All state is confined to the
+ * event dispatch thread; the query itself runs on {@link DataAccessExecutor}.
+ */
+final class DashboardSnapshot {
+
+    // InnoDB answers count(*) from the smallest secondary index, so the Patient_Info count walks
+    // idx_patient_room rather than the clustered rows.
+    private static final String SNAPSHOT_SQL = "select "
+            + "(select count(*) from Patient_Info), "
+            + "(select count(*) from room where Availability = 'Available'), "
+            + "(select count(*) from Ambulance where Available = 'Yes')";
+
+    private static final List<Consumer<Stats>> LISTENERS = new ArrayList<>();
+
+    private static Stats latest;
+    private static DataAccessExecutor.Task refreshTask;
+    private static Runnable changeSubscription;
+    private static boolean refreshAgain;
+
+    private DashboardSnapshot() {
+    }
+
+    /**
+     * Registers a window for snapshot updates and immediately replays the latest numbers. The first window
+     * triggers a fresh read, since nothing kept the counters current while no window was open. The returned
+     * handle unsubscribes.
+     */
+    static Runnable subscribe(Consumer<Stats> listener) {
+        LISTENERS.add(listener);
+        if (changeSubscription == null) {
+            changeSubscription = ChangeEvents.subscribe(changed -> refresh());
+            refresh();
+        } else if (latest != null) {
+            listener.accept(latest);
+        }
+        return () -> unsubscribe(listener);
+    }
+
+    /**
+     * Re-reads the counters; every subscriber receives the result. A request that arrives while a read is
+     * under way is folded into one follow-up read, since the running one may predate the change.
+     */
+    static void refresh() {
+        if (refreshTask != null && refreshTask.isPending()) {
+            refreshAgain = true;
+            return;
+        }
+        refreshAgain = false;
+        refreshTask = DataAccessExecutor.submit(DashboardSnapshot::load, DashboardSnapshot::publish, ex -> {
+            System.err.println("Unable to load snapshot stats: " + ex.getMessage());
+            publish(new Stats(0, 0, 0, "Check database connection.", LocalDateTime.now()));
+        });
+    }
+
+    private static void unsubscribe(Consumer<Stats> listener) {
+        LISTENERS.remove(listener);
+        if (LISTENERS.isEmpty()) {
+            if (changeSubscription != null) {
+                changeSubscription.run();
+                changeSubscription = null;
+            }
+            if (refreshTask != null) {
+                refreshTask.cancel();
+                refreshTask = null;
+            }
+        }
+    }
+
+    private static void publish(Stats stats) {
+        latest = stats;
+        for (Consumer<Stats> listener : new ArrayList<>(LISTENERS)) {
+            listener.accept(stats);
+        }
+        if (refreshAgain && !LISTENERS.isEmpty()) {
+            refresh();
+        }
+    }
+
+    private static Stats load() throws SQLException {
+        try (conn c = new conn(); ResultSet rs = c.statement.executeQuery(SNAPSHOT_SQL)) {
+            if (!rs.next()) {
+                return new Stats(0, 0, 0, null, LocalDateTime.now());
+            }
+            return new Stats(rs.getInt(1), rs.getInt(2), rs.getInt(3), null, LocalDateTime.now());
+        }
+    }
+
+    record Stats(int activePatients, int availableRooms, int ambulancesReady, String errorMessage, LocalDateTime takenAt) {
+        boolean hasError() {
+            return errorMessage != null && !errorMessage.isBlank();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package hospital.management.system;
+
+import javax.swing.*;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs JDBC work on a small pool of daemon threads and hands results back on the event dispatch thread.
+ * Screens keep the returned {@link Task} so a newer request, or closing the window, can cancel the old one.
+ */
+final class DataAccessExecutor {
+
+    private static final int WORKER_COUNT = 4;
+    private static final boolean STRICT_EDT_CHECK = Boolean.getBoolean("hms.strictEdt");
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKER_COUNT, new WorkerFactory("db-worker-"));
+    private static final ExecutorService CANCELLER = Executors.newSingleThreadExecutor(new WorkerFactory("db-cancel-"));
+
+    private DataAccessExecutor() {
+    }
+
+    @FunctionalInterface
+    interface Query<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Variant for queries that can run long enough to be superseded (for example a search per keystroke).
+     * The query registers its statement through {@link Task#track(Statement)} so that cancelling the task
+     * also asks MySQL to abort the statement instead of letting it finish unseen.
+     */
+    @FunctionalInterface
+    interface CancellableQuery<T> {
+        T run(Task task) throws Exception;
+    }
+
+    /** A write with nothing to return, for {@link #run}. */
+    @FunctionalInterface
+    interface Update {
+        void run() throws SQLException;
+    }
+
+    static <T> Task submit(Query<T> query, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        return submitCancellable(task -> query.run(), onSuccess, onFailure);
+    }
+
+    static <T> Task submitCancellable(CancellableQuery<T> query, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        Task task = new Task();
+        task.future = EXECUTOR.submit(() -> {
+            if (task.cancelled) {
+                return;
+            }
+            try {
+                T result = query.run(task);
+                deliver(task, () -> onSuccess.accept(result));
+            } catch (Exception ex) {
+                deliver(task, () -> onFailure.accept(ex));
+            }
+        });
+        return task;
+    }
+
+    static Task run(Update update, Runnable onSuccess, Consumer<Exception> onFailure) {
+        return submit(() -> {
+            update.run();
+            return null;
+        }, ignored -> onSuccess.run(), onFailure);
+    }
+
+    /**
+     * Called by {@link conn} before a connection is handed out. Blocking the event dispatch thread on
+     * MySQL freezes every open window, so the offending stack is logged; with {@code -Dhms.strictEdt=true}
+     * the call fails instead, which is how developers catch regressions before they reach a front desk.
+     */
+    static void checkNotOnEventDispatchThread() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            return;
+        }
+        IllegalStateException violation = new IllegalStateException("Database access on the event dispatch thread");
+        if (STRICT_EDT_CHECK) {
+            throw violation;
+        }
+        violation.printStackTrace();
+    }
+
+    private static void deliver(Task task, Runnable callback) {
+        SwingUtilities.invokeLater(() -> {
+            if (!task.cancelled) {
+                task.done = true;
+                callback.run();
+            }
+        });
+    }
+
+    static final class Task {
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Future<?> future;
+        private volatile Statement statement;
+
+        void cancel() {
+            cancelled = true;
+            Future<?> current = future;
+            if (current != null) {
+                current.cancel(true);
+            }
+            Statement running = statement;
+            if (running != null) {
+                CANCELLER.execute(() -> cancelQuietly(running));
+            }
+        }
+
+        /** Remembers the statement currently executing for this task; pass {@code null} once it completes. */
+        void track(Statement running) {
+            statement = running;
+            if (running != null && cancelled) {
+                cancelQuietly(running);
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        boolean isPending() {
+            return !cancelled && !done;
+        }
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        WorkerFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
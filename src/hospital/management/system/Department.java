@@ -3,11 +3,12 @@ package hospital.management.system;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.sql.ResultSet;
+import java.util.Set;
 
 public class Department extends JFrame {
 
     private final JTable table;
+    private DataAccessExecutor.Task loadTask;
 
     public Department(){
         super("Hospital departments");
@@ -35,12 +36,25 @@ public class Department extends JFrame {
     }
 
     private void loadDepartments() {
-        try (conn c = new conn()) {
-            ResultSet resultSet = c.statement.executeQuery("select * from department");
-            table.setModel(ResultSetTableModelBuilder.buildTableModel(resultSet));
-        } catch (Exception ex) {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loadTask = DataAccessExecutor.submit(ReferenceDataCache::departmentTable, model -> {
+            setCursor(Cursor.getDefaultCursor());
+            table.setModel(model);
+        }, ex -> {
+            setCursor(Cursor.getDefaultCursor());
             JOptionPane.showMessageDialog(this, "Unable to fetch department list: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    @Override
+    public void dispose() {
+        if (loadTask != null) {
+            loadTask.cancel();
         }
+        super.dispose();
     }
 
     private JPanel buildTablePanel() {
@@ -55,6 +69,7 @@ public class Department extends JFrame {
             if (e != null) {
                 e.getActionCommand();
             }
+            ReferenceDataCache.invalidate(Set.of(ChangeEvents.Topic.DEPARTMENTS));
             loadDepartments();
         });
 
@@ -0,0 +1,52 @@
+package hospital.management.system;
+
+import javax.swing.Timer;
+import java.util.Locale;
+
+/**
+ * Periodic performance log for support sessions. Started with {@code -Dhms.diagnostics=true}, it writes one
+ * line per subsystem to stderr every minute; without the flag nothing is scheduled. The timer runs on the
+ * event dispatch thread, so it may read the EDT-confined counters directly.
+ */
+final class Diagnostics {
+
+    private static final boolean ENABLED = Boolean.getBoolean("hms.diagnostics");
+    private static final int LOG_INTERVAL_MS = 60_000;
+
+    private static Timer timer;
+    private static long lastFrames;
+    private static long lastDroppedFrames;
+
+    private Diagnostics() {
+    }
+
+    /** Called once the login window is up; a no-op without the flag or when already started. */
+    static void startIfEnabled() {
+        if (!ENABLED || timer != null) {
+            return;
+        }
+        timer = new Timer(LOG_INTERVAL_MS, event -> log());
+        timer.start();
+    }
+
+    private static void log() {
+        AnimationClock.ClockMetrics clock = AnimationClock.metrics();
+        // The clock stops between animations, so frames per second only means something while one runs.
+        System.err.printf(Locale.ROOT, "Animation: %d frames, %d dropped in the last minute; %d fps, %d active%n",
+                clock.totalFrames() - lastFrames, clock.droppedFrames() - lastDroppedFrames,
+                clock.framesPerSecond(), clock.activeAnimations());
+        lastFrames = clock.totalFrames();
+        lastDroppedFrames = clock.droppedFrames();
+
+        ConnectionPool.PoolMetrics pool = ConnectionPool.shared().metrics();
+        System.err.printf(Locale.ROOT, "Connection pool: %d active, %d idle of %d; %d borrows, wait %.1f ms average, "
+                        + "%.1f ms max; %d opened, %d discarded%n",
+                pool.active(), pool.idle(), pool.maxSize(), pool.borrows(), pool.averageWaitNanos() / 1e6,
+                pool.maxWaitNanos() / 1e6, pool.created(), pool.discarded());
+
+        ReferenceDataCache.CacheMetrics cache = ReferenceDataCache.metrics();
+        long lookups = cache.hits() + cache.misses();
+        System.err.printf(Locale.ROOT, "Reference data cache: %d hits, %d misses (%.0f%% hit rate), %d invalidations%n",
+                cache.hits(), cache.misses(), lookups == 0 ? 0.0 : 100.0 * cache.hits() / lookups, cache.invalidations());
+    }
+}
@@ -0,0 +1,137 @@
+package hospital.management.system;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * History of closed stays in {@code Patient_Discharge}. A discharge copies the patient's row there together with
+ * the billed amounts and removes it from {@code Patient_Info} in one transaction, so the active table stays small
+ * while finance can still report on past stays. The history table is partitioned by check-out month; range reads
+ * bind {@code Checked_Out} directly so MySQL prunes to the months asked for.
+ */
+final class DischargeArchive {
+
+    private DischargeArchive() {
+    }
+
+    /**
+     * Moves the patient in {@code details} from {@code Patient_Info} to the history table and frees the room, on
+     * the caller's connection and inside its transaction. Fails if another desk discharged the patient first.
+     * Databases created before the history table existed only get the delete, as before.
+     */
+    static void discharge(conn c, PdfReceiptWriter.DischargeDetails details) throws SQLException {
+        if (SchemaCapabilities.current().dischargeArchive()) {
+            archive(c, details);
+        }
+
+        try (PreparedStatement deletePatient = c.connection.prepareStatement("delete from Patient_Info where number = ?")) {
+            deletePatient.setString(1, details.patientNumber());
+            if (deletePatient.executeUpdate() == 0) {
+                throw new IllegalStateException("Patient " + details.patientNumber() + " has already been discharged");
+            }
+        }
+
+        try (PreparedStatement freeRoom = c.connection.prepareStatement("update room set Availability = 'Available' where room_no = ?")) {
+            freeRoom.setString(1, details.roomNumber());
+            freeRoom.executeUpdate();
+        }
+    }
+
+    /**
+     * Discharges whose check-out falls in {@code [from, toExclusive)}, oldest first, read a batch at a time so
+     * a long range never has to fit in memory.
+     */
+    static DischargeStatementExporter.Source range(LocalDate from, LocalDate toExclusive) {
+        return new RangeReader(Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(toExclusive.atStartOfDay()));
+    }
+
+    /**
+     * Keyset reader over one check-out range. Each batch is a fresh short query that resumes after the last
+     * {@code (Checked_Out, discharge_id)} it returned, which {@code idx_discharge_checked_out} serves in order
+     * because secondary indexes carry the primary key.
+     */
+    private static final class RangeReader implements DischargeStatementExporter.Source {
+        private final Timestamp from;
+        private final Timestamp toExclusive;
+        private Timestamp lastCheckedOut;
+        private long lastId;
+        private boolean exhausted;
+
+        RangeReader(Timestamp from, Timestamp toExclusive) {
+            this.from = from;
+            this.toExclusive = toExclusive;
+        }
+
+        @Override
+        public List<PdfReceiptWriter.DischargeDetails> next(int limit) throws SQLException {
+            if (exhausted) {
+                return List.of();
+            }
+            List<PdfReceiptWriter.DischargeDetails> discharges = new ArrayList<>(limit);
+            try (conn c = new conn(); PreparedStatement select = c.connection.prepareStatement(
+                    "select discharge_id, number, Name, Room_Number, Bed_Type, Checked_In, Checked_Out, Stay_Days, Room_Rate, "
+                            + "Room_Charge, Deposite, Balance from Patient_Discharge where Checked_Out >= ? and Checked_Out < ? "
+                            + (lastCheckedOut == null ? "" : "and (Checked_Out, discharge_id) > (?, ?) ")
+                            + "order by Checked_Out, discharge_id limit ?")) {
+                int index = 1;
+                select.setTimestamp(index++, from);
+                select.setTimestamp(index++, toExclusive);
+                if (lastCheckedOut != null) {
+                    select.setTimestamp(index++, lastCheckedOut);
+                    select.setLong(index++, lastId);
+                }
+                select.setInt(index, limit);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = rs.getLong("discharge_id");
+                        lastCheckedOut = rs.getTimestamp("Checked_Out");
+                        discharges.add(read(rs));
+                    }
+                }
+            }
+            exhausted = discharges.size() < limit;
+            return discharges;
+        }
+    }
+
+    private static PdfReceiptWriter.DischargeDetails read(ResultSet rs) throws SQLException {
+        return new PdfReceiptWriter.DischargeDetails(
+                rs.getString("number"),
+                rs.getString("Name"),
+                rs.getString("Room_Number"),
+                rs.getString("Bed_Type"),
+                rs.getTimestamp("Checked_In").toLocalDateTime(),
+                rs.getTimestamp("Checked_Out").toLocalDateTime(),
+                rs.getLong("Stay_Days"),
+                rs.getInt("Room_Rate"),
+                rs.getInt("Room_Charge"),
+                rs.getInt("Deposite"),
+                rs.getInt("Balance"));
+    }
+
+    private static void archive(conn c, PdfReceiptWriter.DischargeDetails details) throws SQLException {
+        try (PreparedStatement insert = c.connection.prepareStatement(
+                "insert into Patient_Discharge (ID, number, Name, Gender, Disease, Room_Number, Bed_Type, Checked_In, "
+                        + "Checked_Out, Stay_Days, Room_Rate, Room_Charge, Deposite, Balance) "
+                        + "select ID, number, Name, Gender, Disease, Room_Number, ?, ?, ?, ?, ?, ?, ?, ? "
+                        + "from Patient_Info where number = ?")) {
+            insert.setString(1, details.bedType());
+            insert.setTimestamp(2, Timestamp.valueOf(details.checkIn()));
+            insert.setTimestamp(3, Timestamp.valueOf(details.checkOut()));
+            insert.setLong(4, details.stayDays());
+            insert.setInt(5, details.roomRate());
+            insert.setInt(6, details.roomCharge());
+            insert.setInt(7, details.deposit());
+            insert.setInt(8, details.balance());
+            insert.setString(9, details.patientNumber());
+            if (insert.executeUpdate() == 0) {
+                throw new IllegalStateException("Patient " + details.patientNumber() + " has already been discharged");
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package hospital.management.system;
+
+import javax.swing.SwingUtilities;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders a batch of discharge receipts (say, a month for finance) into one ZIP. Discharges are pulled from a
+ * {@link Source} a window at a time, rendered in parallel on the common fork-join pool, and appended to the archive
+ * in order, so memory stays bounded however long the range is. The PDFs are already compressed, so entries are
+ * stored rather than deflated a second time. Exports run on their own thread rather than a
+ * {@link DataAccessExecutor} worker: the job is mostly rendering and file I/O, and holding a database slot for
+ * it would stall the screens' queries.
+ */
+final class DischargeStatementExporter {
+
+    private static final int WINDOW = 256;
+    // Below this many receipts a fork costs more than rendering them in place.
+    private static final int SEQUENTIAL_THRESHOLD = 16;
+
+    private static final ThreadLocal<RenderBuffer> BUFFERS = ThreadLocal.withInitial(RenderBuffer::new);
+    private static final ExecutorService EXPORTER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "statement-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DischargeStatementExporter() {
+    }
+
+    /** Supplies discharges in order; an empty or short batch means there are no more. */
+    @FunctionalInterface
+    interface Source {
+        List<PdfReceiptWriter.DischargeDetails> next(int limit) throws SQLException;
+    }
+
+    /**
+     * Runs {@link #exportZip} on the export thread and reports the outcome on the event dispatch thread. Exports
+     * queue behind one another.
+     */
+    static void exportInBackground(Source source, Path target, Consumer<ExportResult> onSuccess,
+                                   Consumer<Exception> onFailure) {
+        EXPORTER.execute(() -> {
+            try {
+                ExportResult result = exportZip(source, target, written -> { });
+                SwingUtilities.invokeLater(() -> onSuccess.accept(result));
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> onFailure.accept(ex));
+            }
+        });
+    }
+
+    /**
+     * Writes one receipt per discharge into {@code target}, replacing it only once the archive is complete.
+     * {@code progress} receives the number of receipts written so far after every window.
+     */
+    static ExportResult exportZip(Source source, Path target, IntConsumer progress) throws IOException, SQLException {
+        long started = System.nanoTime();
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path partial = Files.createTempFile(directory, target.getFileName().toString(), ".part");
+        Rendered[] window = new Rendered[WINDOW];
+        Set<String> entryNames = new HashSet<>();
+        int written = 0;
+        long bytes = 0;
+        try {
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+                zip.setMethod(ZipOutputStream.STORED);
+                List<PdfReceiptWriter.DischargeDetails> batch;
+                do {
+                    batch = source.next(WINDOW);
+                    render(batch, window);
+                    for (int i = 0; i < batch.size(); i++) {
+                        Rendered receipt = window[i];
+                        window[i] = null;
+                        ZipEntry entry = new ZipEntry(uniqueName(receipt.name(), entryNames));
+                        entry.setSize(receipt.pdf().length);
+                        entry.setCompressedSize(receipt.pdf().length);
+                        entry.setCrc(receipt.crc());
+                        zip.putNextEntry(entry);
+                        zip.write(receipt.pdf());
+                        zip.closeEntry();
+                        bytes += receipt.pdf().length;
+                    }
+                    written += batch.size();
+                    progress.accept(written);
+                } while (batch.size() == WINDOW);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return new ExportResult(written, bytes, System.nanoTime() - started);
+    }
+
+    private static void render(List<PdfReceiptWriter.DischargeDetails> batch, Rendered[] window) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            ForkJoinPool.commonPool().invoke(new RenderTask(batch, 0, batch.size(), window));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /** Two discharges of the same patient in the same second would share a file name; number the later ones. */
+    private static String uniqueName(String name, Set<String> taken) {
+        if (taken.add(name)) {
+            return name;
+        }
+        String stem = name.substring(0, name.length() - ".pdf".length());
+        for (int copy = 2; ; copy++) {
+            String candidate = stem + "-" + copy + ".pdf";
+            if (taken.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    /** Renders {@code [from, to)} of the batch into the same slots of {@code window}. */
+    private static final class RenderTask extends RecursiveAction {
+        private final List<PdfReceiptWriter.DischargeDetails> discharges;
+        private final int from;
+        private final int to;
+        private final Rendered[] window;
+
+        RenderTask(List<PdfReceiptWriter.DischargeDetails> discharges, int from, int to, Rendered[] window) {
+            this.discharges = discharges;
+            this.from = from;
+            this.to = to;
+            this.window = window;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                RenderBuffer buffer = BUFFERS.get();
+                for (int i = from; i < to; i++) {
+                    window[i] = buffer.render(discharges.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RenderTask(discharges, from, middle, window),
+                    new RenderTask(discharges, middle, to, window));
+        }
+    }
+
+    /** Per-thread byte sink the receipt writer streams into before the bytes are copied out for the archive. */
+    private static final class RenderBuffer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        private final WritableByteChannel channel = Channels.newChannel((OutputStream) bytes);
+        private final CRC32 crc = new CRC32();
+
+        Rendered render(PdfReceiptWriter.DischargeDetails details) {
+            bytes.reset();
+            try {
+                PdfReceiptWriter.write(details, channel);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            byte[] pdf = bytes.toByteArray();
+            crc.reset();
+            crc.update(pdf);
+            return new Rendered(PdfReceiptWriter.fileName(details), pdf, crc.getValue());
+        }
+    }
+
+    private record Rendered(String name, byte[] pdf, long crc) {
+    }
+
+    record ExportResult(int receipts, long bytes, long elapsedNanos) {
+        double receiptsPerSecond() {
+            return elapsedNanos == 0 ? 0 : receipts * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -2,16 +2,16 @@ package hospital.management.system;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Objects;
 
 public class Employee_info extends JFrame {
 
     private final JTable table;
+    private DataAccessExecutor.Task loadTask;
     private JButton editButton;
     private JButton deleteButton;
 
@@ -58,15 +58,31 @@ public class Employee_info extends JFrame {
     }
 
     private void loadEmployees() {
-        try (conn c = new conn()) {
-            ResultSet resultSet = c.statement.executeQuery("select * from EMP_INFO");
-            table.setModel(ResultSetTableModelBuilder.buildTableModel(resultSet));
-        } catch (Exception ex) {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loadTask = DataAccessExecutor.submit(() -> ResultSetTableModelBuilder.query("select * from EMP_INFO"), model -> {
+            table.setModel(model);
+            finishLoading();
+        }, ex -> {
+            finishLoading();
             JOptionPane.showMessageDialog(this, "Unable to fetch employee records: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        } finally {
-            table.clearSelection();
-            updateActionStates();
+        });
+    }
+
+    private void finishLoading() {
+        setCursor(Cursor.getDefaultCursor());
+        table.clearSelection();
+        updateActionStates();
+    }
+
+    @Override
+    public void dispose() {
+        if (loadTask != null) {
+            loadTask.cancel();
         }
+        super.dispose();
     }
 
     private JPanel buildTablePanel() {
@@ -141,13 +157,10 @@ public class Employee_info extends JFrame {
         dialog.setVisible(true);
         StaffMember staffMember = dialog.getResult();
         if (staffMember != null) {
-            try {
-                insertStaff(staffMember);
+            DataAccessExecutor.run(() -> insertStaff(staffMember), () -> {
                 loadEmployees();
                 JOptionPane.showMessageDialog(this, "Staff member added successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Unable to add staff member: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            }, ex -> JOptionPane.showMessageDialog(this, "Unable to add staff member: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -162,13 +175,10 @@ public class Employee_info extends JFrame {
         dialog.setVisible(true);
         StaffMember updated = dialog.getResult();
         if (updated != null) {
-            try {
-                updateStaff(updated);
+            DataAccessExecutor.run(() -> updateStaff(updated), () -> {
                 loadEmployees();
                 JOptionPane.showMessageDialog(this, "Staff member updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Unable to update staff member: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            }, ex -> JOptionPane.showMessageDialog(this, "Unable to update staff member: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -185,13 +195,10 @@ public class Employee_info extends JFrame {
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.WARNING_MESSAGE);
         if (option == JOptionPane.YES_OPTION) {
-            try {
-                deleteStaff(selected.aadharNumber());
+            DataAccessExecutor.run(() -> deleteStaff(selected.aadharNumber()), () -> {
                 loadEmployees();
                 JOptionPane.showMessageDialog(this, "Staff member removed.", "Deleted", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Unable to delete staff member: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            }, ex -> JOptionPane.showMessageDialog(this, "Unable to delete staff member: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -201,13 +208,10 @@ public class Employee_info extends JFrame {
             return null;
         }
         int modelRow = table.convertRowIndexToModel(viewRow);
-        if (!(table.getModel() instanceof DefaultTableModel model)) {
-            return null;
-        }
-        return buildStaffFromModel(model, modelRow);
+        return buildStaffFromModel(table.getModel(), modelRow);
     }
 
-    private StaffMember buildStaffFromModel(DefaultTableModel model, int row) {
+    private StaffMember buildStaffFromModel(TableModel model, int row) {
         String name = valueAsString(model, row, "Name");
         int age = valueAsInt(model, row, "Age");
         String phone = valueAsString(model, row, "Phone_Number");
@@ -217,12 +221,12 @@ public class Employee_info extends JFrame {
         return new StaffMember(name, age, phone, salary, email, aadhar);
     }
 
-    private String valueAsString(DefaultTableModel model, int row, String columnName) {
+    private String valueAsString(TableModel model, int row, String columnName) {
         Object value = getModelValue(model, row, columnName);
         return Objects.toString(value, "").trim();
     }
 
-    private int valueAsInt(DefaultTableModel model, int row, String columnName) {
+    private int valueAsInt(TableModel model, int row, String columnName) {
         Object value = getModelValue(model, row, columnName);
         if (value instanceof Number number) {
             return number.intValue();
@@ -238,7 +242,7 @@ public class Employee_info extends JFrame {
         }
     }
 
-    private Object getModelValue(DefaultTableModel model, int row, String columnName) {
+    private Object getModelValue(TableModel model, int row, String columnName) {
         int columnIndex = findColumnIndex(model, columnName);
         if (columnIndex < 0 || row < 0 || row >= model.getRowCount()) {
             return null;
@@ -246,11 +250,7 @@ public class Employee_info extends JFrame {
         return model.getValueAt(row, columnIndex);
     }
 
-    private int findColumnIndex(DefaultTableModel model, String columnName) {
-        int columnIndex = model.findColumn(columnName);
-        if (columnIndex >= 0) {
-            return columnIndex;
-        }
+    private int findColumnIndex(TableModel model, String columnName) {
         for (int i = 0; i < model.getColumnCount(); i++) {
             if (columnName.equalsIgnoreCase(model.getColumnName(i))) {
                 return i;
@@ -259,7 +259,7 @@ public class Employee_info extends JFrame {
         return -1;
     }
 
-    private void insertStaff(StaffMember staff) throws SQLException {
+    private static void insertStaff(StaffMember staff) throws SQLException {
         try (conn c = new conn();
              PreparedStatement statement = c.connection.prepareStatement(
                      "insert into EMP_INFO (Name, Age, Phone_Number, Salary, Gmail, Aadhar_Number) values (?, ?, ?, ?, ?, ?)")) {
@@ -273,7 +273,7 @@ public class Employee_info extends JFrame {
         }
     }
 
-    private void updateStaff(StaffMember staff) throws SQLException {
+    private static void updateStaff(StaffMember staff) throws SQLException {
         try (conn c = new conn();
              PreparedStatement statement = c.connection.prepareStatement(
                      "update EMP_INFO set Name = ?, Age = ?, Phone_Number = ?, Salary = ?, Gmail = ? where Aadhar_Number = ?")) {
@@ -287,7 +287,7 @@ public class Employee_info extends JFrame {
         }
     }
 
-    private void deleteStaff(String aadharNumber) throws SQLException {
+    private static void deleteStaff(String aadharNumber) throws SQLException {
         try (conn c = new conn();
              PreparedStatement statement = c.connection.prepareStatement(
                      "delete from EMP_INFO where Aadhar_Number = ?")) {
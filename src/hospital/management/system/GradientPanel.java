@@ -5,23 +5,25 @@ import java.awt.*;
 
 public class GradientPanel extends JPanel {
 
-    private final Color start;
-    private final Color end;
+    private final SurfaceCache.Slot background;
 
     public GradientPanel(Color start, Color end) {
-        this.start = start;
-        this.end = end;
+        this.background = new SurfaceCache.Slot(new Gradient(start, end, 32));
         setOpaque(false);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g.create();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        GradientPaint gradientPaint = new GradientPaint(0, 0, start, getWidth(), getHeight(), end);
-        g2.setPaint(gradientPaint);
-        g2.fillRoundRect(0, 0, getWidth(), getHeight(), 32, 32);
-        g2.dispose();
+        background.paint((Graphics2D) g, getWidth(), getHeight(), getGraphicsConfiguration());
+    }
+
+    private record Gradient(Color start, Color end, int arc) implements SurfaceCache.Surface {
+        @Override
+        public void paint(Graphics2D g2, int width, int height) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setPaint(new GradientPaint(0, 0, start, width, height, end));
+            g2.fillRoundRect(0, 0, width, height, arc, arc);
+        }
     }
 }
@@ -0,0 +1,219 @@
+package hospital.management.system;
+
+import java.awt.Color;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pre-parsed SVG illustrations. The build runs {@link #main} to flatten every {@code illustrations/*.svg}
+ * into path opcodes, float coordinates and packed ARGB colours, so launching the app never touches the XML
+ * parser for the bundled artwork. {@link IllustrationPanel} asks the bundle first and only falls back to its
+ * SVG loader for assets the bundle does not contain.
+ *
+ * <p>Layout (big-endian): magic {@code HMSI}, version, asset count, then per asset its base name, width,
+ * height and shapes; a shape is its fill and stroke colours, stroke width, winding rule, one opcode byte per
+ * segment and the segment coordinates.
+ */
+final class IllustrationBundle {
+
+    static final String RESOURCE = "/hospital/management/system/illustrations/illustrations.bin";
+
+    private static final int MAGIC = 0x484D5349;
+    private static final short VERSION = 1;
+    private static final byte HAS_FILL = 1;
+    private static final byte HAS_STROKE = 2;
+
+    private static final Map<String, IllustrationPanel.IllustrationAsset> ASSETS = load();
+
+    private IllustrationBundle() {
+    }
+
+    /** Returns the compiled asset for an illustration base name, or {@code null} when it is not bundled. */
+    static IllustrationPanel.IllustrationAsset find(String baseName) {
+        return ASSETS.get(baseName);
+    }
+
+    /**
+     * Build step: {@code java hospital.management.system.IllustrationBundle <svg directory> <output file>}.
+     * Colours are harmonised with {@link UITheme} exactly as at runtime, so the bundle must be rebuilt with
+     * the classes it ships with.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: IllustrationBundle <svg directory> <output file>");
+            System.exit(2);
+        }
+        Map<String, IllustrationPanel.IllustrationAsset> assets = new TreeMap<>();
+        try (DirectoryStream<Path> svgs = Files.newDirectoryStream(Path.of(args[0]), "*.svg")) {
+            for (Path svg : svgs) {
+                String name = svg.getFileName().toString();
+                try (InputStream in = Files.newInputStream(svg)) {
+                    assets.put(name.substring(0, name.length() - ".svg".length()), IllustrationPanel.SvgLoader.parse(in));
+                } catch (Exception ex) {
+                    // Left out of the bundle; the runtime loader reports it if the asset is ever requested.
+                    System.err.println("Skipping " + name + ": " + ex.getMessage());
+                }
+            }
+        }
+        Path output = Path.of(args[1]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output)) {
+            write(assets, out);
+        }
+        System.out.println("Compiled " + assets.size() + " illustrations into " + output + " (" + Files.size(output) + " bytes)");
+    }
+
+    static void write(Map<String, IllustrationPanel.IllustrationAsset> assets, OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(assets.size());
+        float[] coords = new float[6];
+        for (Map.Entry<String, IllustrationPanel.IllustrationAsset> entry : assets.entrySet()) {
+            IllustrationPanel.IllustrationAsset asset = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeFloat((float) asset.width());
+            out.writeFloat((float) asset.height());
+            out.writeInt(asset.shapes().size());
+            for (IllustrationPanel.SvgShape shape : asset.shapes()) {
+                byte flags = (byte) ((shape.fill() != null ? HAS_FILL : 0) | (shape.stroke() != null ? HAS_STROKE : 0));
+                out.writeByte(flags);
+                out.writeInt(shape.fill() != null ? shape.fill().getRGB() : 0);
+                out.writeInt(shape.stroke() != null ? shape.stroke().getRGB() : 0);
+                out.writeFloat(shape.strokeWidth());
+
+                List<Byte> opcodes = new ArrayList<>();
+                List<Float> points = new ArrayList<>();
+                PathIterator iterator = shape.shape().getPathIterator(null);
+                out.writeByte(iterator.getWindingRule());
+                while (!iterator.isDone()) {
+                    int type = iterator.currentSegment(coords);
+                    opcodes.add((byte) type);
+                    for (int i = 0; i < coordinateCount(type); i++) {
+                        points.add(coords[i]);
+                    }
+                    iterator.next();
+                }
+                out.writeInt(opcodes.size());
+                for (byte opcode : opcodes) {
+                    out.writeByte(opcode);
+                }
+                out.writeInt(points.size());
+                for (float point : points) {
+                    out.writeFloat(point);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    static Map<String, IllustrationPanel.IllustrationAsset> read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 10 || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IOException("Not an illustration bundle (or built by a different version)");
+        }
+        int assetCount = buffer.getInt();
+        Map<String, IllustrationPanel.IllustrationAsset> assets = new HashMap<>(assetCount * 2);
+        for (int a = 0; a < assetCount; a++) {
+            String name = readUtf(buffer);
+            double width = buffer.getFloat();
+            double height = buffer.getFloat();
+            int shapeCount = buffer.getInt();
+            List<IllustrationPanel.SvgShape> shapes = new ArrayList<>(shapeCount);
+            for (int s = 0; s < shapeCount; s++) {
+                byte flags = buffer.get();
+                int fill = buffer.getInt();
+                int stroke = buffer.getInt();
+                float strokeWidth = buffer.getFloat();
+                int winding = buffer.get();
+                int segmentCount = buffer.getInt();
+                byte[] opcodes = new byte[segmentCount];
+                buffer.get(opcodes);
+                int pointCount = buffer.getInt();
+                Path2D.Float path = new Path2D.Float(winding, segmentCount);
+                for (byte opcode : opcodes) {
+                    switch (opcode) {
+                        case PathIterator.SEG_MOVETO -> path.moveTo(buffer.getFloat(), buffer.getFloat());
+                        case PathIterator.SEG_LINETO -> path.lineTo(buffer.getFloat(), buffer.getFloat());
+                        case PathIterator.SEG_QUADTO -> path.quadTo(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+                        case PathIterator.SEG_CUBICTO -> path.curveTo(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(),
+                                buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+                        case PathIterator.SEG_CLOSE -> path.closePath();
+                        default -> throw new IOException("Corrupt illustration bundle: opcode " + opcode);
+                    }
+                    pointCount -= coordinateCount(opcode);
+                }
+                if (pointCount != 0) {
+                    throw new IOException("Corrupt illustration bundle: coordinate count mismatch in " + name);
+                }
+                shapes.add(new IllustrationPanel.SvgShape(path,
+                        (flags & HAS_FILL) != 0 ? new Color(fill, true) : null,
+                        (flags & HAS_STROKE) != 0 ? new Color(stroke, true) : null,
+                        strokeWidth));
+            }
+            assets.put(name, new IllustrationPanel.IllustrationAsset(width, height, shapes, null));
+        }
+        return assets;
+    }
+
+    private static Map<String, IllustrationPanel.IllustrationAsset> load() {
+        URL url = IllustrationBundle.class.getResource(RESOURCE);
+        if (url == null) {
+            return Map.of();
+        }
+        try {
+            return read(map(url));
+        } catch (IOException | RuntimeException | URISyntaxException ex) {
+            System.err.println("Ignoring illustration bundle: " + ex.getMessage());
+            return Map.of();
+        }
+    }
+
+    /** Memory-maps the bundle when it sits on disk (development builds); reads it in one go from a jar. */
+    private static ByteBuffer map(URL url) throws IOException, URISyntaxException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+    private static String readUtf(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        // writeUTF emits modified UTF-8; asset names are plain ASCII file names, for which it is identical.
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int coordinateCount(int segmentType) {
+        return switch (segmentType) {
+            case PathIterator.SEG_MOVETO, PathIterator.SEG_LINETO -> 2;
+            case PathIterator.SEG_QUADTO -> 4;
+            case PathIterator.SEG_CUBICTO -> 6;
+            default -> 0;
+        };
+    }
+}
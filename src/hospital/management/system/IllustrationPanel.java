@@ -16,10 +16,12 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -60,9 +62,29 @@ public class IllustrationPanel extends JPanel {
         Map.entry(IllustrationStyle.HERO, "rod-of-asclepius-icon-512877-512")
     );
 
-    private static final Map<IllustrationStyle, IllustrationAsset> ASSETS = loadAssets();
+    // Decoding is I/O and DOM bound and each style is independent, so a few threads load them side by side.
+    private static final ExecutorService ASSET_LOADER = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())), runnable -> {
+                Thread thread = new Thread(runnable, "illustration-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final Map<IllustrationStyle, CompletableFuture<IllustrationAsset>> ASSETS = new EnumMap<>(IllustrationStyle.class);
+
+    // Each Reception window shows a dozen panels at a handful of sizes; a few dozen tiles cover every
+    // style/size pair on screen without holding on to sizes from long-closed windows.
+    private static final int MAX_CACHED_TILES = 48;
+    private static final Map<TileKey, BufferedImage> TILE_CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TileKey, BufferedImage> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
 
     private final IllustrationStyle style;
+    private TileKey tileKey;
+    private BufferedImage tile;
+    private boolean awaitingAsset;
 
     public IllustrationPanel(IllustrationStyle style) {
         this.style = style;
@@ -70,14 +92,66 @@ public class IllustrationPanel extends JPanel {
         setPreferredSize(new Dimension(320, 320));
     }
 
+    /**
+     * Starts decoding every illustration on the loader pool. Called once the login frame is showing so the
+     * remaining styles are ready before the Reception workspace opens; panels request their own style on
+     * first paint regardless.
+     */
+    public static void preloadInBackground() {
+        for (IllustrationStyle style : IllustrationStyle.values()) {
+            asset(style);
+        }
+    }
+
+    /**
+     * Draws a pre-rendered tile of the whole panel. Tiles are rendered once per style, size and device
+     * scale and shared between panels, so hover animations on the Reception cards repaint with a single
+     * image blit instead of re-filling every vector shape. A resize simply asks for a different tile.
+     * Until the style's asset has been decoded the panel shows its plain background and repaints when
+     * the asset arrives.
+     */
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g.create();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
         int width = getWidth();
         int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        CompletableFuture<IllustrationAsset> pending = asset(style);
+        IllustrationAsset asset = pending.isDone() && !pending.isCompletedExceptionally() ? pending.join() : null;
+        if (!pending.isDone() && !awaitingAsset) {
+            awaitingAsset = true;
+            pending.whenComplete((loaded, error) -> SwingUtilities.invokeLater(this::repaint));
+        }
+
+        AffineTransform device = ((Graphics2D) g).getTransform();
+        TileKey key = new TileKey(asset != null ? style : null, width, height, device.getScaleX(), device.getScaleY());
+        if (!key.equals(tileKey)) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            tile = TILE_CACHE.computeIfAbsent(key, k -> renderTile(k, asset, configuration));
+            tileKey = key;
+        }
+        g.drawImage(tile, 0, 0, width, height, null);
+    }
+
+    private static BufferedImage renderTile(TileKey key, IllustrationAsset asset, GraphicsConfiguration configuration) {
+        int pixelWidth = Math.max(1, (int) Math.ceil(key.width() * key.scaleX()));
+        int pixelHeight = Math.max(1, (int) Math.ceil(key.height() * key.scaleY()));
+        BufferedImage image = configuration != null
+                ? configuration.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2 = image.createGraphics();
+        g2.scale((double) pixelWidth / key.width(), (double) pixelHeight / key.height());
+        paintIllustration(g2, asset, key.width(), key.height());
+        g2.dispose();
+        return image;
+    }
+
+    private static void paintIllustration(Graphics2D g2, IllustrationAsset asset, int width, int height) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
 
         GradientPaint background = new GradientPaint(0, 0, UITheme.PRIMARY_LIGHT, width, height, UITheme.PRIMARY);
         g2.setPaint(background);
@@ -96,12 +170,13 @@ public class IllustrationPanel extends JPanel {
         g2.setStroke(new BasicStroke(2f));
         g2.drawRoundRect(1, 1, Math.max(0, width - 2), Math.max(0, height - 2), 46, 46);
 
-        IllustrationAsset asset = ASSETS.getOrDefault(style, ASSETS.get(IllustrationStyle.HOSPITAL));
+        if (asset == null) {
+            return;
+        }
         double artWidth = asset.width();
         double artHeight = asset.height();
         double scale = Math.min((width - 32.0) / artWidth, (height - 32.0) / artHeight);
         if (!Double.isFinite(scale) || scale <= 0) {
-            g2.dispose();
             return;
         }
         double translateX = (width - artWidth * scale) / 2.0;
@@ -112,12 +187,9 @@ public class IllustrationPanel extends JPanel {
         transform.scale(scale, scale);
 
         if (asset.image() != null) {
-            Object previousInterpolation = g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+            // Rendered once per tile, so the expensive filter no longer costs anything per frame.
             g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            g2.drawImage(asset.image(), transform, this);
-            if (previousInterpolation != null) {
-                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, previousInterpolation);
-            }
+            g2.drawImage(asset.image(), transform, null);
         } else {
             for (SvgShape shape : asset.shapes()) {
                 Shape transformed = transform.createTransformedShape(shape.shape());
@@ -132,11 +204,13 @@ public class IllustrationPanel extends JPanel {
                 }
             }
         }
+    }
 
-        g2.dispose();
+    /** A {@code null} style marks the background-only placeholder shown while an asset is still loading. */
+    private record TileKey(IllustrationStyle style, int width, int height, double scaleX, double scaleY) {
     }
 
-    private record IllustrationAsset(double width, double height, List<SvgShape> shapes, BufferedImage image) {
+    record IllustrationAsset(double width, double height, List<SvgShape> shapes, BufferedImage image) {
         private static final List<SvgShape> EMPTY_SHAPES = List.of();
 
         IllustrationAsset {
@@ -144,99 +218,101 @@ public class IllustrationPanel extends JPanel {
         }
     }
 
-    private record SvgShape(Shape shape, Color fill, Color stroke, float strokeWidth) {
+    record SvgShape(Shape shape, Color fill, Color stroke, float strokeWidth) {
     }
 
-    private static Map<IllustrationStyle, IllustrationAsset> loadAssets() {
-        Map<IllustrationStyle, IllustrationAsset> assets = new EnumMap<>(IllustrationStyle.class);
-        for (IllustrationStyle style : IllustrationStyle.values()) {
-            String baseName = RESOURCE_BASE_NAMES.getOrDefault(style, style.name().toLowerCase());
-            IllustrationAsset asset = null;
+    private static CompletableFuture<IllustrationAsset> asset(IllustrationStyle style) {
+        synchronized (ASSETS) {
+            return ASSETS.computeIfAbsent(style, key -> CompletableFuture
+                    .supplyAsync(() -> loadAsset(key), ASSET_LOADER)
+                    .thenCompose(loaded -> loaded != null || key == IllustrationStyle.HOSPITAL
+                            ? CompletableFuture.completedFuture(loaded)
+                            : asset(IllustrationStyle.HOSPITAL)));
+        }
+    }
 
+    /** Decodes one style's resource, or returns {@code null} so the caller falls back to the hospital artwork. */
+    private static IllustrationAsset loadAsset(IllustrationStyle style) {
+        String baseName = RESOURCE_BASE_NAMES.getOrDefault(style, style.name().toLowerCase());
         List<String> candidateResources = List.of(
             "/hospital/management/system/illustrations/" + baseName + ".png",
             "/hospital/management/system/illustrations/" + baseName + ".svg"
         );
 
-            List<String> failureMessages = new ArrayList<>();
-            for (String resource : candidateResources) {
-                try {
-                    asset = resource.endsWith(".svg")
-                            ? SvgLoader.load(resource)
-                            : RasterLoader.load(resource);
-                    if (asset != null) {
-                        break;
-                    }
-                } catch (Exception ex) {
-                    failureMessages.add(ex.getMessage());
+        List<String> failureMessages = new ArrayList<>();
+        for (String resource : candidateResources) {
+            try {
+                IllustrationAsset asset = resource.endsWith(".svg")
+                        ? loadVector(baseName, resource)
+                        : RasterLoader.load(resource);
+                if (asset != null) {
+                    return asset;
                 }
-            }
-
-            if (asset != null) {
-                assets.put(style, asset);
-            } else if (!failureMessages.isEmpty()) {
-                System.err.println("Unable to load illustration asset: " + baseName + " - " + String.join("; ", failureMessages));
+            } catch (Exception ex) {
+                failureMessages.add(ex.getMessage());
             }
         }
 
-        if (assets.isEmpty()) {
-            throw new IllegalStateException("No illustration assets could be loaded. Verify illustration resources are present.");
-        }
+        System.err.println("Unable to load illustration asset: " + baseName + " - " + String.join("; ", failureMessages));
+        return null;
+    }
 
-        // Ensure every style has a value, fall back to the first available asset if needed.
-        IllustrationAsset fallback = assets.values().iterator().next();
-        for (IllustrationStyle style : IllustrationStyle.values()) {
-            assets.putIfAbsent(style, fallback);
-        }
-        return assets;
+    /** Prefers the build-time compiled bundle and only parses the SVG itself for assets added since. */
+    private static IllustrationAsset loadVector(String baseName, String resource) throws Exception {
+        IllustrationAsset compiled = IllustrationBundle.find(baseName);
+        return compiled != null ? compiled : SvgLoader.load(resource);
     }
 
-    private static final class SvgLoader {
+    static final class SvgLoader {
         private static IllustrationAsset load(String resource) throws Exception {
             try (InputStream inputStream = IllustrationPanel.class.getResourceAsStream(resource)) {
                 if (inputStream == null) {
                     throw new IOException("Resource not found: " + resource);
                 }
-                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-                factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-                factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-                factory.setXIncludeAware(false);
-                factory.setExpandEntityReferences(false);
-
-                String xml = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-                xml = stripDoctype(xml);
-                Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-                document.getDocumentElement().normalize();
-                Element svgElement = document.getDocumentElement();
-
-                double width = parseLength(svgElement.getAttribute("width"));
-                double height = parseLength(svgElement.getAttribute("height"));
-                String viewBox = svgElement.getAttribute("viewBox");
-                if (!viewBox.isBlank()) {
-                    String[] parts = viewBox.trim().split("\\s+");
-                    if (parts.length == 4) {
-                        width = Double.parseDouble(parts[2]);
-                        height = Double.parseDouble(parts[3]);
-                    }
-                }
-                if (width <= 0 || height <= 0) {
-                    width = 256;
-                    height = 256;
-                }
+                return parse(inputStream);
+            }
+        }
 
-                List<SvgShape> shapes = new ArrayList<>();
-                NodeList children = svgElement.getChildNodes();
-                for (int i = 0; i < children.getLength(); i++) {
-                    Node node = children.item(i);
-                    if (node.getNodeType() != Node.ELEMENT_NODE) {
-                        continue;
-                    }
-                    shapes.addAll(parseElement((Element) node));
+        static IllustrationAsset parse(InputStream inputStream) throws Exception {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setXIncludeAware(false);
+            factory.setExpandEntityReferences(false);
+
+            String xml = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            xml = stripDoctype(xml);
+            Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+            document.getDocumentElement().normalize();
+            Element svgElement = document.getDocumentElement();
+
+            double width = parseLength(svgElement.getAttribute("width"));
+            double height = parseLength(svgElement.getAttribute("height"));
+            String viewBox = svgElement.getAttribute("viewBox");
+            if (!viewBox.isBlank()) {
+                String[] parts = viewBox.trim().split("\\s+");
+                if (parts.length == 4) {
+                    width = Double.parseDouble(parts[2]);
+                    height = Double.parseDouble(parts[3]);
                 }
+            }
+            if (width <= 0 || height <= 0) {
+                width = 256;
+                height = 256;
+            }
 
-                return new IllustrationAsset(width, height, shapes, null);
+            List<SvgShape> shapes = new ArrayList<>();
+            NodeList children = svgElement.getChildNodes();
+            for (int i = 0; i < children.getLength(); i++) {
+                Node node = children.item(i);
+                if (node.getNodeType() != Node.ELEMENT_NODE) {
+                    continue;
+                }
+                shapes.addAll(parseElement((Element) node));
             }
+
+            return new IllustrationAsset(width, height, shapes, null);
         }
 
         private static String stripDoctype(String xml) {
@@ -536,205 +612,350 @@ public class IllustrationPanel extends JPanel {
         }
     }
 
-    private static class SvgPathParser {
-        private static final Pattern NUMBER_PATTERN = Pattern.compile("[-+]?(?:\\d*\\.\\d+|\\d+)(?:[eE][-+]?\\d+)?");
+    /**
+     * Single-pass reader for SVG path data. It walks the characters once, decodes numbers in place and
+     * appends straight to a {@link Path2D.Float}, so no substrings, boxed values or per-command arrays are
+     * created. Covers the whole path grammar: implicit command repetition, relative forms, smooth cubic and
+     * quadratic curves, and elliptical arcs (converted to cubic segments of at most 90 degrees).
+     */
+    static final class SvgPathParser {
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+                1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+        private static final int MAX_MANTISSA_DIGITS = 18;
+
+        private final String data;
+        private final int length;
+        private final Path2D.Float path;
+        private int position;
+
+        private SvgPathParser(String data, Path2D.Float path) {
+            this.data = data;
+            this.length = data.length();
+            this.path = path;
+        }
 
-        private static Path2D parse(String data) {
-            Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, 64);
+        static Path2D parse(String data) {
             if (data == null || data.isBlank()) {
-                return path;
+                return new Path2D.Float();
             }
+            Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, Math.max(16, data.length() / 6));
+            new SvgPathParser(data, path).run();
+            return path;
+        }
 
+        private void run() {
             double currentX = 0;
             double currentY = 0;
             double subPathStartX = 0;
             double subPathStartY = 0;
-            double lastControlX = 0;
-            double lastControlY = 0;
-            char lastCommand = 0;
-            for (String segment : splitSegments(data)) {
-                if (segment.isEmpty()) {
-                    continue;
+            double controlX = 0;
+            double controlY = 0;
+            char previous = 0;
+            char command = 0;
+
+            skipSeparators();
+            while (position < length) {
+                char ch = data.charAt(position);
+                if (isCommand(ch)) {
+                    command = ch;
+                    position++;
+                } else if (!isNumberStart(ch)) {
+                    throw new IllegalArgumentException("Unsupported SVG command: " + ch);
+                } else if (command == 0 || command == 'Z' || command == 'z') {
+                    throw new IllegalArgumentException("Path data has coordinates without a command at index " + position);
                 }
-                char rawCommand = segment.charAt(0);
-                boolean relative = Character.isLowerCase(rawCommand);
-                char command = Character.toUpperCase(rawCommand);
-                double[] values = parseNumbers(segment.substring(1));
-                switch (command) {
+
+                boolean relative = command >= 'a';
+                double baseX = relative ? currentX : 0;
+                double baseY = relative ? currentY : 0;
+                char type = relative ? (char) (command - ('a' - 'A')) : command;
+                switch (type) {
                     case 'M' -> {
-                        for (int i = 0; i < values.length; i += 2) {
-                            double x = values[i];
-                            double y = values[i + 1];
-                            if (relative) {
-                                x += currentX;
-                                y += currentY;
-                            }
-                            currentX = x;
-                            currentY = y;
-                            if (i == 0) {
-                                path.moveTo(currentX, currentY);
-                                subPathStartX = currentX;
-                                subPathStartY = currentY;
-                            } else {
-                                path.lineTo(currentX, currentY);
-                            }
-                        }
+                        currentX = baseX + number();
+                        currentY = baseY + number();
+                        path.moveTo(currentX, currentY);
+                        subPathStartX = currentX;
+                        subPathStartY = currentY;
+                        // Further coordinate pairs after a move are implicit line-tos.
+                        command = relative ? 'l' : 'L';
                     }
                     case 'L' -> {
-                        for (int i = 0; i < values.length; i += 2) {
-                            double x = values[i];
-                            double y = values[i + 1];
-                            if (relative) {
-                                x += currentX;
-                                y += currentY;
-                            }
-                            currentX = x;
-                            currentY = y;
-                            path.lineTo(currentX, currentY);
-                        }
+                        currentX = baseX + number();
+                        currentY = baseY + number();
+                        path.lineTo(currentX, currentY);
                     }
-                    case 'C' -> {
-                        for (int i = 0; i < values.length; i += 6) {
-                            double x1 = values[i];
-                            double y1 = values[i + 1];
-                            double x2 = values[i + 2];
-                            double y2 = values[i + 3];
-                            double x = values[i + 4];
-                            double y = values[i + 5];
-                            if (relative) {
-                                x1 += currentX;
-                                y1 += currentY;
-                                x2 += currentX;
-                                y2 += currentY;
-                                x += currentX;
-                                y += currentY;
-                            }
-                            currentX = x;
-                            currentY = y;
-                            lastControlX = x2;
-                            lastControlY = y2;
-                            path.curveTo(x1, y1, x2, y2, currentX, currentY);
-                        }
+                    case 'H' -> {
+                        currentX = baseX + number();
+                        path.lineTo(currentX, currentY);
                     }
-                    case 'S' -> {
-                        for (int i = 0; i < values.length; i += 4) {
-                            double x2 = values[i];
-                            double y2 = values[i + 1];
-                            double x = values[i + 2];
-                            double y = values[i + 3];
-                            double x1;
-                            double y1;
-                            if (lastCommand == 'C' || lastCommand == 'S') {
-                                x1 = currentX * 2 - lastControlX;
-                                y1 = currentY * 2 - lastControlY;
-                            } else {
-                                x1 = currentX;
-                                y1 = currentY;
-                            }
-                            if (relative) {
-                                x2 += currentX;
-                                y2 += currentY;
-                                x += currentX;
-                                y += currentY;
-                            }
-                            currentX = x;
-                            currentY = y;
-                            lastControlX = x2;
-                            lastControlY = y2;
-                            path.curveTo(x1, y1, x2, y2, currentX, currentY);
-                        }
+                    case 'V' -> {
+                        currentY = baseY + number();
+                        path.lineTo(currentX, currentY);
                     }
-                    case 'Q' -> {
-                        for (int i = 0; i < values.length; i += 4) {
-                            double x1 = values[i];
-                            double y1 = values[i + 1];
-                            double x = values[i + 2];
-                            double y = values[i + 3];
-                            if (relative) {
-                                x1 += currentX;
-                                y1 += currentY;
-                                x += currentX;
-                                y += currentY;
-                            }
-                            currentX = x;
-                            currentY = y;
-                            path.quadTo(x1, y1, currentX, currentY);
+                    case 'C', 'S' -> {
+                        double x1;
+                        double y1;
+                        if (type == 'C') {
+                            x1 = baseX + number();
+                            y1 = baseY + number();
+                        } else if (previous == 'C' || previous == 'S') {
+                            x1 = currentX * 2 - controlX;
+                            y1 = currentY * 2 - controlY;
+                        } else {
+                            x1 = currentX;
+                            y1 = currentY;
                         }
+                        controlX = baseX + number();
+                        controlY = baseY + number();
+                        currentX = baseX + number();
+                        currentY = baseY + number();
+                        path.curveTo(x1, y1, controlX, controlY, currentX, currentY);
                     }
-                    case 'H' -> {
-                        for (double value : values) {
-                            currentX = relative ? currentX + value : value;
-                            path.lineTo(currentX, currentY);
+                    case 'Q', 'T' -> {
+                        if (type == 'Q') {
+                            controlX = baseX + number();
+                            controlY = baseY + number();
+                        } else if (previous == 'Q' || previous == 'T') {
+                            controlX = currentX * 2 - controlX;
+                            controlY = currentY * 2 - controlY;
+                        } else {
+                            controlX = currentX;
+                            controlY = currentY;
                         }
+                        currentX = baseX + number();
+                        currentY = baseY + number();
+                        path.quadTo(controlX, controlY, currentX, currentY);
                     }
-                    case 'V' -> {
-                        for (double value : values) {
-                            currentY = relative ? currentY + value : value;
-                            path.lineTo(currentX, currentY);
-                        }
+                    case 'A' -> {
+                        double radiusX = number();
+                        double radiusY = number();
+                        double rotation = number();
+                        boolean largeArc = flag();
+                        boolean sweep = flag();
+                        double x = baseX + number();
+                        double y = baseY + number();
+                        arcTo(currentX, currentY, radiusX, radiusY, rotation, largeArc, sweep, x, y);
+                        currentX = x;
+                        currentY = y;
                     }
                     case 'Z' -> {
                         path.closePath();
                         currentX = subPathStartX;
                         currentY = subPathStartY;
-                        lastControlX = currentX;
-                        lastControlY = currentY;
                     }
                     default -> throw new IllegalArgumentException("Unsupported SVG command: " + command);
                 }
-                switch (command) {
-                    case 'C', 'S' -> {
-                        // lastControlX/Y already set during processing
-                    }
-                    default -> {
-                        lastControlX = currentX;
-                        lastControlY = currentY;
-                    }
+                if (type != 'C' && type != 'S' && type != 'Q' && type != 'T') {
+                    controlX = currentX;
+                    controlY = currentY;
                 }
-                lastCommand = command;
+                previous = type;
+                skipSeparators();
             }
-            return path;
         }
 
-        private static List<String> splitSegments(String data) {
-            StringBuilder current = new StringBuilder();
-            java.util.ArrayList<String> segments = new java.util.ArrayList<>();
-            for (int i = 0; i < data.length(); i++) {
-                char ch = data.charAt(i);
-                if (Character.isLetter(ch)) {
-                    if (current.length() > 0) {
-                        segments.add(current.toString().trim());
+        /** Appends an SVG endpoint-parameterised arc as cubic segments (SVG 1.1 implementation notes F.6.5). */
+        private void arcTo(double x1, double y1, double radiusX, double radiusY, double rotationDegrees,
+                           boolean largeArc, boolean sweep, double x2, double y2) {
+            if (x1 == x2 && y1 == y2) {
+                return;
+            }
+            double rx = Math.abs(radiusX);
+            double ry = Math.abs(radiusY);
+            if (rx == 0 || ry == 0) {
+                path.lineTo(x2, y2);
+                return;
+            }
+
+            double phi = Math.toRadians(rotationDegrees % 360);
+            double cosPhi = Math.cos(phi);
+            double sinPhi = Math.sin(phi);
+            double halfDx = (x1 - x2) / 2;
+            double halfDy = (y1 - y2) / 2;
+            double x1p = cosPhi * halfDx + sinPhi * halfDy;
+            double y1p = -sinPhi * halfDx + cosPhi * halfDy;
+
+            double lambda = (x1p * x1p) / (rx * rx) + (y1p * y1p) / (ry * ry);
+            if (lambda > 1) {
+                double grow = Math.sqrt(lambda);
+                rx *= grow;
+                ry *= grow;
+            }
+
+            double rx2 = rx * rx;
+            double ry2 = ry * ry;
+            double numerator = rx2 * ry2 - rx2 * y1p * y1p - ry2 * x1p * x1p;
+            double denominator = rx2 * y1p * y1p + ry2 * x1p * x1p;
+            double coefficient = (largeArc == sweep ? -1 : 1) * Math.sqrt(Math.max(0, numerator / denominator));
+            double cxp = coefficient * rx * y1p / ry;
+            double cyp = -coefficient * ry * x1p / rx;
+            double cx = cosPhi * cxp - sinPhi * cyp + (x1 + x2) / 2;
+            double cy = sinPhi * cxp + cosPhi * cyp + (y1 + y2) / 2;
+
+            double startAngle = angleBetween(1, 0, (x1p - cxp) / rx, (y1p - cyp) / ry);
+            double sweepAngle = angleBetween((x1p - cxp) / rx, (y1p - cyp) / ry, (-x1p - cxp) / rx, (-y1p - cyp) / ry);
+            if (!sweep && sweepAngle > 0) {
+                sweepAngle -= Math.PI * 2;
+            } else if (sweep && sweepAngle < 0) {
+                sweepAngle += Math.PI * 2;
+            }
+
+            int segments = Math.max(1, (int) Math.ceil(Math.abs(sweepAngle) / (Math.PI / 2) - 1e-7));
+            double step = sweepAngle / segments;
+            double handle = 4.0 / 3.0 * Math.tan(step / 4);
+            double angle = startAngle;
+            double cosStart = Math.cos(angle);
+            double sinStart = Math.sin(angle);
+            for (int i = 0; i < segments; i++) {
+                double next = angle + step;
+                double cosEnd = Math.cos(next);
+                double sinEnd = Math.sin(next);
+
+                double startX = cx + rx * cosStart * cosPhi - ry * sinStart * sinPhi;
+                double startY = cy + rx * cosStart * sinPhi + ry * sinStart * cosPhi;
+                double endX = i == segments - 1 ? x2 : cx + rx * cosEnd * cosPhi - ry * sinEnd * sinPhi;
+                double endY = i == segments - 1 ? y2 : cy + rx * cosEnd * sinPhi + ry * sinEnd * cosPhi;
+                double startTangentX = -rx * sinStart * cosPhi - ry * cosStart * sinPhi;
+                double startTangentY = -rx * sinStart * sinPhi + ry * cosStart * cosPhi;
+                double endTangentX = -rx * sinEnd * cosPhi - ry * cosEnd * sinPhi;
+                double endTangentY = -rx * sinEnd * sinPhi + ry * cosEnd * cosPhi;
+
+                path.curveTo(startX + handle * startTangentX, startY + handle * startTangentY,
+                        endX - handle * endTangentX, endY - handle * endTangentY,
+                        endX, endY);
+                angle = next;
+                cosStart = cosEnd;
+                sinStart = sinEnd;
+            }
+        }
+
+        private static double angleBetween(double ux, double uy, double vx, double vy) {
+            return Math.atan2(ux * vy - uy * vx, ux * vx + uy * vy);
+        }
+
+        private void skipSeparators() {
+            while (position < length) {
+                char ch = data.charAt(position);
+                if (ch != ',' && !Character.isWhitespace(ch)) {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        /** Arc flags are a single {@code 0} or {@code 1} and may be written without separators ("a1 1 0 01 5 5"). */
+        private boolean flag() {
+            skipSeparators();
+            if (position < length) {
+                char ch = data.charAt(position);
+                if (ch == '0' || ch == '1') {
+                    position++;
+                    return ch == '1';
+                }
+            }
+            throw new IllegalArgumentException("Expected arc flag at index " + position);
+        }
+
+        /**
+         * Decodes the next number without creating a string. Up to 18 significant digits are accumulated in a
+         * {@code long} and scaled by an exact power of ten, which is far beyond the precision the float path keeps.
+         */
+        private double number() {
+            skipSeparators();
+            boolean negative = false;
+            if (position < length) {
+                char sign = data.charAt(position);
+                if (sign == '-' || sign == '+') {
+                    negative = sign == '-';
+                    position++;
+                }
+            }
+
+            long mantissa = 0;
+            int significantDigits = 0;
+            int exponent = 0;
+            boolean sawDigit = false;
+            while (position < length && isDigit(data.charAt(position))) {
+                int digit = data.charAt(position++) - '0';
+                sawDigit = true;
+                if (significantDigits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa != 0) {
+                        significantDigits++;
                     }
-                    current = new StringBuilder();
-                    current.append(ch);
                 } else {
-                    current.append(ch);
+                    exponent++;
+                }
+            }
+            if (position < length && data.charAt(position) == '.') {
+                position++;
+                while (position < length && isDigit(data.charAt(position))) {
+                    int digit = data.charAt(position++) - '0';
+                    sawDigit = true;
+                    if (significantDigits < MAX_MANTISSA_DIGITS) {
+                        mantissa = mantissa * 10 + digit;
+                        if (mantissa != 0) {
+                            significantDigits++;
+                        }
+                        exponent--;
+                    }
                 }
             }
-            if (current.length() > 0) {
-                segments.add(current.toString().trim());
+            if (!sawDigit) {
+                throw new IllegalArgumentException("Expected number at index " + position);
             }
-            return segments;
+
+            if (position < length && (data.charAt(position) == 'e' || data.charAt(position) == 'E')) {
+                int mark = position;
+                position++;
+                boolean negativeExponent = false;
+                if (position < length && (data.charAt(position) == '-' || data.charAt(position) == '+')) {
+                    negativeExponent = data.charAt(position) == '-';
+                    position++;
+                }
+                if (position < length && isDigit(data.charAt(position))) {
+                    int explicit = 0;
+                    while (position < length && isDigit(data.charAt(position))) {
+                        explicit = Math.min(explicit * 10 + (data.charAt(position++) - '0'), 9999);
+                    }
+                    exponent += negativeExponent ? -explicit : explicit;
+                } else {
+                    position = mark;
+                }
+            }
+
+            double value = scale(mantissa, exponent);
+            return negative ? -value : value;
         }
 
-        private static double[] parseNumbers(String data) {
-            if (data == null || data.isBlank()) {
-                return new double[0];
+        private static double scale(long mantissa, int exponent) {
+            if (mantissa == 0 || exponent == 0) {
+                return mantissa;
             }
-            Matcher matcher = NUMBER_PATTERN.matcher(data);
-            java.util.ArrayList<Double> values = new java.util.ArrayList<>();
-            while (matcher.find()) {
-                String token = matcher.group();
-                if (token == null || token.isBlank()) {
-                    continue;
-                }
-                values.add(Double.parseDouble(token));
+            if (exponent < 0 && exponent >= -22) {
+                return mantissa / POWERS_OF_TEN[-exponent];
             }
-            double[] result = new double[values.size()];
-            for (int i = 0; i < values.size(); i++) {
-                result[i] = values.get(i);
+            if (exponent > 0 && exponent <= 22) {
+                return mantissa * POWERS_OF_TEN[exponent];
             }
-            return result;
+            return mantissa * Math.pow(10, exponent);
+        }
+
+        private static boolean isDigit(char ch) {
+            return ch >= '0' && ch <= '9';
+        }
+
+        private static boolean isNumberStart(char ch) {
+            return isDigit(ch) || ch == '-' || ch == '+' || ch == '.';
+        }
+
+        private static boolean isCommand(char ch) {
+            return switch (ch) {
+                case 'M', 'm', 'L', 'l', 'H', 'h', 'V', 'v', 'C', 'c', 'S', 's', 'Q', 'q', 'T', 't', 'A', 'a', 'Z', 'z' -> true;
+                default -> false;
+            };
         }
     }
 }
@@ -7,6 +7,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Arrays;
 
 public class Login extends JFrame implements ActionListener {
@@ -157,6 +158,12 @@ public class Login extends JFrame implements ActionListener {
 
         usernameField.requestFocusInWindow();
         setVisible(true);
+
+        ConnectionPool.warmUpInBackground();
+        IllustrationPanel.preloadInBackground();
+        ReceiptQueue.startInBackground();
+        SchemaMigrations.runInBackground();
+        Diagnostics.startIfEnabled();
     }
 
     private JLabel createHeroBullet(String text) {
@@ -179,32 +186,40 @@ public class Login extends JFrame implements ActionListener {
     }
 
     private void performLogin() {
-        char[] passwordChars = null;
-        try (conn c = new conn()) {
-            String user = usernameField.getText().trim();
-            passwordChars = passwordField.getPassword();
-            String pass = new String(passwordChars);
+        String user = usernameField.getText().trim();
+        char[] passwordChars = passwordField.getPassword();
+        String pass = new String(passwordChars);
+        Arrays.fill(passwordChars, '\0');
+
+        signInButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        DataAccessExecutor.submit(() -> verifyCredentials(user, pass), authenticated -> {
+            signInButton.setEnabled(true);
+            setCursor(Cursor.getDefaultCursor());
+            if (authenticated) {
+                new Reception();
+                dispose();
+            } else {
+                JOptionPane.showMessageDialog(this, "Invalid credentials", "Authentication failed", JOptionPane.WARNING_MESSAGE);
+            }
+        }, ex -> {
+            signInButton.setEnabled(true);
+            setCursor(Cursor.getDefaultCursor());
+            JOptionPane.showMessageDialog(this, "Unable to verify credentials: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
 
+    private static boolean verifyCredentials(String user, String pass) throws SQLException {
+        try (conn c = new conn()) {
             String query = "select * from login where ID = ? and PW = ?";
             try (PreparedStatement preparedStatement = c.connection.prepareStatement(query)) {
                 preparedStatement.setString(1, user);
                 preparedStatement.setString(2, pass);
 
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    if (resultSet.next()) {
-                        new Reception();
-                        dispose();
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Invalid credentials", "Authentication failed", JOptionPane.WARNING_MESSAGE);
-                    }
+                    return resultSet.next();
                 }
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Unable to verify credentials: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        } finally {
-            if (passwordChars != null) {
-                Arrays.fill(passwordChars, '\0');
-            }
         }
     }
 
@@ -5,13 +5,13 @@ import javax.swing.ScrollPaneConstants;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -28,8 +28,12 @@ public class NEW_PATIENT extends JFrame {
     private final JTextField depositField;
     private final JTextField reasonField;
     private final JLabel admissionTimeLabel;
+    private final LocalDateTime admittedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
     private final JLabel roomRateValue;
     private final Map<String, RoomDetails> roomDetails = new HashMap<>();
+    private JButton submitButton;
+    private DataAccessExecutor.Task departmentsTask;
+    private DataAccessExecutor.Task roomsTask;
 
     private static final Locale INDIA_LOCALE = new Locale("en", "IN");
 
@@ -56,7 +60,7 @@ public class NEW_PATIENT extends JFrame {
         depositField.setEditable(false);
         depositField.setFocusable(false);
         depositField.setBackground(UITheme.SURFACE);
-        admissionTimeLabel = UIComponents.subtitle(LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm")));
+        admissionTimeLabel = UIComponents.subtitle(AdmissionTimes.format(admittedAt));
         reasonField = UIComponents.textField(28);
         reasonField.setColumns(28);
         roomRateValue = UIComponents.subtitle("—");
@@ -106,7 +110,7 @@ public class NEW_PATIENT extends JFrame {
         addFormRow(grid, gbc, 8, "Admission time", admissionTimeLabel);
         addFormRow(grid, gbc, 9, "Deposit (₹)", depositField);
 
-        JButton submitButton = UIComponents.primaryButton("Save admission");
+        submitButton = UIComponents.primaryButton("Save admission");
         submitButton.addActionListener(event -> {
             if (event != null) {
                 event.getActionCommand();
@@ -184,14 +188,21 @@ public class NEW_PATIENT extends JFrame {
     }
 
     private void populateDepartments() {
-        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
-        try (conn c = new conn(); ResultSet departments = c.statement.executeQuery("select Department from department order by Department")) {
-            while (departments.next()) {
-                model.addElement(departments.getString("Department"));
-            }
-        } catch (SQLException ex) {
+        departmentField.setModel(new DefaultComboBoxModel<>(new String[]{"Loading…"}));
+        departmentField.setEnabled(false);
+        departmentsTask = DataAccessExecutor.submit(NEW_PATIENT::fetchDepartments, this::applyDepartments, ex -> {
+            applyDepartments(List.of());
             JOptionPane.showMessageDialog(this, "Unable to load departments: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
+    }
+
+    private static List<String> fetchDepartments() throws SQLException {
+        return ReferenceDataCache.departmentNames();
+    }
+
+    private void applyDepartments(List<String> departments) {
+        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
+        departments.forEach(model::addElement);
         int count = model.getSize();
         if (count == 0) {
             departmentField.setModel(new DefaultComboBoxModel<>(new String[]{"No departments configured"}));
@@ -204,21 +215,29 @@ public class NEW_PATIENT extends JFrame {
     }
 
     private void populateRooms() {
-        roomDetails.clear();
-        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
-        int availableCount = 0;
-        try (conn c = new conn(); ResultSet rooms = c.statement.executeQuery("select room_no, Price, Bed_Type from room where Availability = 'Available' order by room_no")) {
-            while (rooms.next()) {
-                String roomNumber = rooms.getString("room_no");
-                int price = rooms.getInt("Price");
-                String bedType = rooms.getString("Bed_Type");
-                model.addElement(roomNumber);
-                roomDetails.put(roomNumber, new RoomDetails(price, bedType));
-                availableCount++;
-            }
-        } catch (SQLException ex) {
+        roomField.setModel(new DefaultComboBoxModel<>(new String[]{"Loading…"}));
+        roomField.setEnabled(false);
+        updateSelectedRoomDetails();
+        roomsTask = DataAccessExecutor.submit(NEW_PATIENT::fetchAvailableRooms, this::applyRooms, ex -> {
+            applyRooms(Map.of());
             JOptionPane.showMessageDialog(this, "Unable to load rooms: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private static Map<String, RoomDetails> fetchAvailableRooms() throws SQLException {
+        Map<String, RoomDetails> rooms = new LinkedHashMap<>();
+        for (ReferenceDataCache.RoomInfo room : ReferenceDataCache.availableRooms()) {
+            rooms.put(room.roomNumber(), new RoomDetails(room.price(), room.bedType()));
         }
+        return rooms;
+    }
+
+    private void applyRooms(Map<String, RoomDetails> rooms) {
+        roomDetails.clear();
+        roomDetails.putAll(rooms);
+        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
+        rooms.keySet().forEach(model::addElement);
+        int availableCount = rooms.size();
 
         if (availableCount == 0) {
             model.addElement("No rooms available");
@@ -288,10 +307,7 @@ public class NEW_PATIENT extends JFrame {
 
         String idType = sanitizeInput(Objects.toString(idTypeField.getSelectedItem(), ""));
         String gender = sanitizeInput(Objects.toString(genderField.getSelectedItem(), ""));
-        String admissionTime = admissionTimeLabel.getText();
-        String depositValue = String.valueOf(selectedRoom.price());
-
-        return new AdmissionForm(idType, idNumber, patientName, gender, department, roomValue, depositValue, admissionTime, reason);
+        return new AdmissionForm(idType, idNumber, patientName, gender, department, roomValue, selectedRoom.bedType(), admittedAt, reason);
     }
 
     private static String sanitizeInput(String value) {
@@ -317,115 +333,111 @@ public class NEW_PATIENT extends JFrame {
             return;
         }
 
-        try (conn c = new conn()) {
-            c.connection.setAutoCommit(false);
-
-            insertPatient(c, form);
-
-            try (PreparedStatement updateRoom = c.connection.prepareStatement("update room set Availability = 'Occupied' where room_no = ?")) {
-                updateRoom.setString(1, form.room());
-                updateRoom.executeUpdate();
+        submitButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        DataAccessExecutor.submit(() -> persistAdmission(form), result -> {
+            setCursor(Cursor.getDefaultCursor());
+            if (result == null) {
+                submitButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                        "Room " + form.room() + " was taken by another desk moments ago and no other " + form.bedType()
+                                + " room is free.\nChoose another room and save again.",
+                        "Room no longer available", JOptionPane.WARNING_MESSAGE);
+                populateRooms();
+                return;
+            }
+            ChangeEvents.publish(result.version(), ChangeEvents.Topic.PATIENTS, ChangeEvents.Topic.ROOMS);
+            if (result.room().reassigned()) {
+                JOptionPane.showMessageDialog(this,
+                        "Room " + form.room() + " was taken by another desk moments ago.\nPatient added to " + form.bedType()
+                                + " room " + result.room().roomNumber() + " instead, with a deposit of ₹" + result.room().price() + ".",
+                        "Admission saved", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Patient added successfully", "Admission saved", JOptionPane.INFORMATION_MESSAGE);
             }
-
-            c.connection.commit();
-            JOptionPane.showMessageDialog(this, "Patient added successfully", "Admission saved", JOptionPane.INFORMATION_MESSAGE);
             dispose();
-        } catch (SQLException ex) {
+        }, ex -> {
+            setCursor(Cursor.getDefaultCursor());
+            submitButton.setEnabled(true);
             JOptionPane.showMessageDialog(this, "Unable to save admission: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
-    private void insertPatient(conn connection, AdmissionForm form) throws SQLException {
-        try {
-            attemptInsertWithReason(connection, form);
-        } catch (SQLException ex) {
-            if (!isMissingAdmissionReasonColumn(ex)) {
-                throw ex;
-            }
+    /**
+     * Claims the room first so the patient row always references the room that was actually secured, and
+     * charges that room's deposit; if the insert fails the connection is returned to the pool uncommitted and
+     * the claim rolls back with it. Returns {@code null}, with nothing written, when neither the chosen room
+     * nor another of its bed type is free. Blocks on JDBC; {@code scripts/RoomClaimStress.java} drives it from
+     * many threads at once.
+     */
+    static AdmissionResult persistAdmission(AdmissionForm form) throws SQLException {
+        try (conn c = new conn()) {
+            c.connection.setAutoCommit(false);
 
-            boolean upgraded = ensureAdmissionReasonColumn(connection);
-            if (upgraded) {
-                attemptInsertWithReason(connection, form);
-                return;
+            RoomAllocator.Allocation allocation = RoomAllocator.claim(c, form.room());
+            if (allocation == null) {
+                c.connection.rollback();
+                return null;
             }
 
-            attemptLegacyInsert(connection, form);
-        }
-    }
+            insertPatient(c, form, allocation);
 
-    private boolean isMissingAdmissionReasonColumn(SQLException ex) {
-        for (SQLException current = ex; current != null; current = current.getNextException()) {
-            String state = current.getSQLState();
-            int code = current.getErrorCode();
-            if ("42S22".equals(state) || code == 1054) {
-                return true;
-            }
-            String message = Objects.toString(current.getMessage(), "").toLowerCase(Locale.ENGLISH);
-            if (message.contains("unknown column") && message.contains("admission_reason")) {
-                return true;
-            }
+            long version = ChangeEvents.bumpVersion(c);
+            c.connection.commit();
+            return new AdmissionResult(allocation, version);
         }
-        return false;
     }
 
-    private void attemptInsertWithReason(conn connection, AdmissionForm form) throws SQLException {
-        try (PreparedStatement insert = connection.connection.prepareStatement(
-                "insert into Patient_Info (ID, number, Name, Gender, Disease, Room_Number, Time, Deposite, Admission_Reason) values (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-            insert.setString(1, form.idType());
-            insert.setString(2, form.idNumber());
-            insert.setString(3, form.name());
-            insert.setString(4, form.gender());
-            insert.setString(5, form.department());
-            insert.setString(6, form.room());
-            insert.setString(7, form.admissionTime());
-            insert.setString(8, form.deposit());
-            insert.setString(9, form.reason());
-            insert.executeUpdate();
+    @Override
+    public void dispose() {
+        if (departmentsTask != null) {
+            departmentsTask.cancel();
         }
-    }
-
-    private void attemptLegacyInsert(conn connection, AdmissionForm form) throws SQLException {
-        try (PreparedStatement insertLegacy = connection.connection.prepareStatement(
-                "insert into Patient_Info (ID, number, Name, Gender, Disease, Room_Number, Time, Deposite) values (?, ?, ?, ?, ?, ?, ?, ?)")) {
-            insertLegacy.setString(1, form.idType());
-            insertLegacy.setString(2, form.idNumber());
-            insertLegacy.setString(3, form.name());
-            insertLegacy.setString(4, form.gender());
-            insertLegacy.setString(5, form.department());
-            insertLegacy.setString(6, form.room());
-            insertLegacy.setString(7, form.admissionTime());
-            insertLegacy.setString(8, form.deposit());
-            insertLegacy.executeUpdate();
+        if (roomsTask != null) {
+            roomsTask.cancel();
         }
+        super.dispose();
     }
 
-    private boolean ensureAdmissionReasonColumn(conn connection) {
-        try (PreparedStatement check = connection.connection.prepareStatement(
-                "select 1 from information_schema.columns where table_schema = database() and table_name = 'Patient_Info' and column_name = 'Admission_Reason'")) {
-            try (ResultSet rs = check.executeQuery()) {
-                if (rs.next()) {
-                    return true;
-                }
+    /** Writes the admission with the columns this database has, as reported by {@link SchemaCapabilities}. */
+    private static void insertPatient(conn connection, AdmissionForm form, RoomAllocator.Allocation room) throws SQLException {
+        SchemaCapabilities.Capabilities schema = SchemaCapabilities.current();
+        boolean withReason = schema.admissionReason();
+        boolean typedTime = schema.admittedAt();
+        String columns = "ID, number, Name, Gender, Disease, Room_Number, Time, Deposite"
+                + (withReason ? ", Admission_Reason" : "")
+                + (typedTime ? ", Admitted_At" : "");
+        String placeholders = "?, ?, ?, ?, ?, ?, ?, ?" + (withReason ? ", ?" : "") + (typedTime ? ", ?" : "");
+        try (PreparedStatement insert = connection.connection.prepareStatement(
+                "insert into Patient_Info (" + columns + ") values (" + placeholders + ")")) {
+            int index = 1;
+            insert.setString(index++, form.idType());
+            insert.setString(index++, form.idNumber());
+            insert.setString(index++, form.name());
+            insert.setString(index++, form.gender());
+            insert.setString(index++, form.department());
+            insert.setString(index++, room.roomNumber());
+            insert.setString(index++, AdmissionTimes.format(form.admittedAt()));
+            insert.setInt(index++, room.price());
+            if (withReason) {
+                insert.setString(index++, form.reason());
             }
-        } catch (SQLException ignored) {
-            return false;
-        }
-
-        try (PreparedStatement alter = connection.connection.prepareStatement(
-                "alter table Patient_Info add column Admission_Reason text null after Deposite")) {
-            alter.executeUpdate();
-            return true;
-        } catch (SQLException ignored) {
-            return false;
+            if (typedTime) {
+                insert.setObject(index, form.admittedAt());
+            }
+            insert.executeUpdate();
         }
     }
 
     private record RoomDetails(int price, String bedType) {
     }
 
-    private record AdmissionForm(String idType, String idNumber, String name,
-                                 String gender, String department, String room,
-                                 String deposit, String admissionTime, String reason) {
+    record AdmissionForm(String idType, String idNumber, String name,
+                         String gender, String department, String room,
+                         String bedType, LocalDateTime admittedAt, String reason) {
+    }
+
+    record AdmissionResult(RoomAllocator.Allocation room, long version) {
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,333 @@
+package hospital.management.system;
+
+import javax.swing.table.AbstractTableModel;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table model for the patient directory that only keeps a handful of pages in memory.
+ * Pages are read in primary-key order using keyset predicates ({@code number > ?}) and requested
+ * from {@link #getValueAt} as the table paints, so only the rows in and around the viewport are fetched.
+ * A search is a list of {@link Branch branches} whose matches are OR-ed together. Each branch is a predicate
+ * MySQL can answer from a single index, and the branches are combined with {@code UNION} rather than
+ * {@code OR}, because an OR across a FULLTEXT match and other predicates forces a full table scan.
+ * All state is confined to the event dispatch thread; queries run on {@link DataAccessExecutor}.
+ */
+final class PagedPatientTableModel extends AbstractTableModel {
+
+    static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 12;
+    private static final String PLACEHOLDER = "…";
+
+    private final String[] columnNames;
+    private final List<Branch> branches;
+    private final int rowCount;
+    private final int keyColumn;
+
+    private final Map<Integer, List<Object[]>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Map<Integer, String> pageStartKeys = new HashMap<>();
+    private final Map<Integer, DataAccessExecutor.Task> inFlight = new HashMap<>();
+    private boolean closed;
+
+    private PagedPatientTableModel(String[] columnNames, List<Branch> branches, int rowCount, List<Object[]> firstPage) {
+        this.columnNames = columnNames;
+        this.branches = branches;
+        this.rowCount = rowCount;
+        this.keyColumn = indexOf(columnNames, "number");
+        if (!firstPage.isEmpty()) {
+            storePage(0, firstPage);
+        }
+    }
+
+    /**
+     * Opens a model over the patients matching any of {@code branches}, or over all of {@code Patient_Info}
+     * when there are none. Performs the count query and reads the first page, so it must be called off the
+     * event dispatch thread. When a task is given, its statements are tracked so a superseding search can
+     * abort them server-side.
+     */
+    static PagedPatientTableModel open(List<Branch> branches, DataAccessExecutor.Task task) throws SQLException {
+        List<Branch> filter = List.copyOf(branches);
+        try (conn c = new conn()) {
+            int total;
+            List<Object> countParameters = new ArrayList<>();
+            String countSql = filter.isEmpty()
+                    ? "select count(*) from Patient_Info"
+                    : "select count(*) from (" + matchingKeys(filter, null, null, 0, countParameters) + ") m";
+            try (PreparedStatement count = c.connection.prepareStatement(countSql)) {
+                bind(count, countParameters, 0);
+                track(task, count);
+                try (ResultSet rs = count.executeQuery()) {
+                    total = rs.next() ? rs.getInt(1) : 0;
+                } finally {
+                    track(task, null);
+                }
+            }
+
+            List<Object> pageParameters = new ArrayList<>();
+            try (PreparedStatement first = c.connection.prepareStatement(pageQuery(filter, null, null, pageParameters))) {
+                bind(first, pageParameters, 0);
+                track(task, first);
+                try (ResultSet rs = first.executeQuery()) {
+                    String[] names = columnNames(rs.getMetaData());
+                    List<Object[]> rows = readRows(rs, names.length);
+                    return new PagedPatientTableModel(names, filter, total, rows);
+                } finally {
+                    track(task, null);
+                }
+            }
+        }
+    }
+
+    /** Number of rows in {@code Patient_Info}; walks the smallest index, so call it once per directory open. */
+    static int countAll(DataAccessExecutor.Task task) throws SQLException {
+        try (conn c = new conn(); PreparedStatement count = c.connection.prepareStatement("select count(*) from Patient_Info")) {
+            track(task, count);
+            try (ResultSet rs = count.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            } finally {
+                track(task, null);
+            }
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        int offset = row % PAGE_SIZE;
+        List<Object[]> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return PLACEHOLDER;
+        }
+        // Only read ahead from a resident page; during a fast scroll the pages flown past are never fetched.
+        if (offset > PAGE_SIZE * 3 / 4) {
+            requestPage(page + 1);
+        }
+        if (offset >= rows.size()) {
+            return null;
+        }
+        return rows.get(offset)[column];
+    }
+
+    /** Returns {@code true} once the row's page is resident, so callers do not act on placeholder values. */
+    boolean isRowLoaded(int row) {
+        List<Object[]> rows = pages.get(row / PAGE_SIZE);
+        return rows != null && row % PAGE_SIZE < rows.size();
+    }
+
+    void close() {
+        closed = true;
+        inFlight.values().forEach(DataAccessExecutor.Task::cancel);
+        inFlight.clear();
+        pages.clear();
+    }
+
+    private void requestPage(int page) {
+        if (closed || page < 0 || (long) page * PAGE_SIZE >= rowCount || pages.containsKey(page) || inFlight.containsKey(page)) {
+            return;
+        }
+
+        String inclusiveStart = pageStartKeys.get(page);
+        String exclusiveStart = null;
+        if (inclusiveStart == null) {
+            List<Object[]> previous = page > 0 ? pages.get(page - 1) : null;
+            if (previous != null && previous.size() == PAGE_SIZE && keyColumn >= 0) {
+                exclusiveStart = String.valueOf(previous.get(PAGE_SIZE - 1)[keyColumn]);
+            }
+        }
+
+        String startKey = inclusiveStart;
+        String afterKey = exclusiveStart;
+        DataAccessExecutor.Task task = DataAccessExecutor.submit(() -> fetchPage(page, startKey, afterKey), rows -> {
+            inFlight.remove(page);
+            if (closed) {
+                return;
+            }
+            storePage(page, rows);
+            int first = page * PAGE_SIZE;
+            int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+            if (last >= first) {
+                fireTableRowsUpdated(first, last);
+            }
+        }, ex -> {
+            inFlight.remove(page);
+            System.err.println("Unable to load patient page " + page + ": " + ex.getMessage());
+        });
+        inFlight.put(page, task);
+    }
+
+    private List<Object[]> fetchPage(int page, String inclusiveStart, String exclusiveStart) throws SQLException {
+        try (conn c = new conn()) {
+            String start = inclusiveStart;
+            boolean inclusive = true;
+            if (start == null && exclusiveStart != null) {
+                start = exclusiveStart;
+                inclusive = false;
+            }
+            if (start == null) {
+                start = seekPageStart(c, page);
+                if (start == null) {
+                    return List.of();
+                }
+            }
+
+            List<Object> parameters = new ArrayList<>();
+            try (PreparedStatement ps = c.connection.prepareStatement(
+                    pageQuery(branches, inclusive ? "number >= ?" : "number > ?", start, parameters))) {
+                bind(ps, parameters, 0);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return readRows(rs, columnNames.length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the first key of a page that has no loaded neighbour (for example after dragging the scrollbar).
+     * The offset walk only touches the primary key index, and the result is remembered for later revisits.
+     */
+    private String seekPageStart(conn c, int page) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        String keys = branches.isEmpty()
+                ? "select number from Patient_Info"
+                : "select number from (" + matchingKeys(branches, null, null, 0, parameters) + ") m";
+        try (PreparedStatement ps = c.connection.prepareStatement(keys + " order by number limit 1 offset ?")) {
+            int next = bind(ps, parameters, 0);
+            ps.setInt(next + 1, page * PAGE_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * One page of full rows in key order, starting at {@code key} under {@code keyCondition} when given. A
+     * filtered page gathers at most a page of keys from every branch, merges them, and only then reads the
+     * rows by primary key.
+     */
+    private static String pageQuery(List<Branch> branches, String keyCondition, String key, List<Object> parameters) {
+        if (branches.isEmpty()) {
+            if (keyCondition == null) {
+                return "select * from Patient_Info order by number limit " + PAGE_SIZE;
+            }
+            parameters.add(key);
+            return "select * from Patient_Info where " + keyCondition + " order by number limit " + PAGE_SIZE;
+        }
+        return "select p.* from (" + matchingKeys(branches, keyCondition, key, PAGE_SIZE, parameters)
+                + " order by number limit " + PAGE_SIZE + ") m join Patient_Info p on p.number = m.number order by p.number";
+    }
+
+    /**
+     * {@code UNION} of the keys each branch matches, optionally past {@code key} and capped at {@code limit}
+     * keys per branch; {@code limit} 0 means uncapped.
+     */
+    private static String matchingKeys(List<Branch> branches, String keyCondition, String key, int limit, List<Object> parameters) {
+        StringBuilder sql = new StringBuilder();
+        for (Branch branch : branches) {
+            if (sql.length() > 0) {
+                sql.append(" union ");
+            }
+            sql.append("(select number from Patient_Info where ").append(branch.predicate());
+            parameters.addAll(branch.parameters());
+            if (keyCondition != null) {
+                sql.append(" and ").append(keyCondition);
+                parameters.add(key);
+            }
+            if (limit > 0) {
+                sql.append(" order by number limit ").append(limit);
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    private void storePage(int page, List<Object[]> rows) {
+        pages.put(page, rows);
+        if (!rows.isEmpty() && keyColumn >= 0) {
+            pageStartKeys.put(page, String.valueOf(rows.get(0)[keyColumn]));
+        }
+    }
+
+    private static void track(DataAccessExecutor.Task task, PreparedStatement statement) {
+        if (task != null) {
+            task.track(statement);
+        }
+    }
+
+    private static int bind(PreparedStatement statement, List<Object> parameters, int offset) throws SQLException {
+        int index = offset;
+        for (Object parameter : parameters) {
+            statement.setObject(++index, parameter);
+        }
+        return index;
+    }
+
+    private static String[] columnNames(ResultSetMetaData metaData) throws SQLException {
+        String[] names = new String[metaData.getColumnCount()];
+        for (int column = 1; column <= names.length; column++) {
+            String label = metaData.getColumnLabel(column);
+            names[column - 1] = label == null || label.isEmpty() ? metaData.getColumnName(column) : label;
+        }
+        return names;
+    }
+
+    private static List<Object[]> readRows(ResultSet rs, int columnCount) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(PAGE_SIZE);
+        while (rs.next()) {
+            Object[] row = new Object[columnCount];
+            for (int column = 0; column < columnCount; column++) {
+                row[column] = rs.getObject(column + 1);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /** A predicate on {@code Patient_Info} that one index can answer, with its bind values. */
+    record Branch(String predicate, List<Object> parameters) {
+        Branch(String predicate, Object... parameters) {
+            this(predicate, List.of(parameters));
+        }
+    }
+
+    private static int indexOf(String[] names, String wanted) {
+        for (int i = 0; i < names.length; i++) {
+            if (wanted.equalsIgnoreCase(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
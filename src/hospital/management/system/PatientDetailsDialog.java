@@ -7,8 +7,6 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -16,49 +14,30 @@ import java.util.Objects;
 
 final class PatientDetailsDialog extends JDialog {
 
-    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm", Locale.ENGLISH);
-    private static final List<DateTimeFormatter> SUPPORTED_INPUT_FORMATS = List.of(
-            DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm", Locale.ENGLISH),
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.ENGLISH)
-    );
-
-    private PatientDetailsDialog(Window owner, String patientNumber) {
+    private PatientDetailsDialog(Window owner, PatientRecord record) {
         super(owner, "Patient profile", ModalityType.APPLICATION_MODAL);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         setResizable(false);
 
-        boolean ready = initialize(patientNumber);
-        if (!ready) {
-            dispose();
-        }
+        setContentPane(buildContent(record));
+        pack();
+        setLocationRelativeTo(getOwner());
     }
 
     static void showFor(Component parent, String patientNumber) {
         Window owner = parent instanceof Window ? (Window) parent : SwingUtilities.getWindowAncestor(parent);
-        PatientDetailsDialog dialog = new PatientDetailsDialog(owner, patientNumber);
-        if (dialog.isDisplayable()) {
-            dialog.setVisible(true);
-        }
-    }
-
-    private boolean initialize(String patientNumber) {
-        PatientRecord record;
-        try {
-            record = fetchRecord(patientNumber);
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Unable to load patient details: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
-
-        if (record == null) {
-            JOptionPane.showMessageDialog(this, "No patient record found for ID " + patientNumber + ".", "Not found", JOptionPane.INFORMATION_MESSAGE);
-            return false;
-        }
-
-        setContentPane(buildContent(record));
-        pack();
-        setLocationRelativeTo(getOwner());
-        return true;
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        DataAccessExecutor.submit(() -> fetchRecord(patientNumber), record -> {
+            parent.setCursor(Cursor.getDefaultCursor());
+            if (record == null) {
+                JOptionPane.showMessageDialog(owner, "No patient record found for ID " + patientNumber + ".", "Not found", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            new PatientDetailsDialog(owner, record).setVisible(true);
+        }, ex -> {
+            parent.setCursor(Cursor.getDefaultCursor());
+            JOptionPane.showMessageDialog(owner, "Unable to load patient details: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
     }
 
     private JComponent buildContent(PatientRecord record) {
@@ -136,22 +115,16 @@ final class PatientDetailsDialog extends JDialog {
         gbc.gridy++;
     }
 
-    private PatientRecord fetchRecord(String patientNumber) throws SQLException {
+    private static PatientRecord fetchRecord(String patientNumber) throws SQLException {
         try (conn c = new conn()) {
-            try {
-                return executeFetch(c, patientNumber, true);
-            } catch (SQLException ex) {
-                if (isMissingAdmissionReasonColumn(ex)) {
-                    return executeFetch(c, patientNumber, false);
-                }
-                throw ex;
-            }
+            return executeFetch(c, patientNumber, SchemaCapabilities.current().admissionReason());
         }
     }
 
-    private PatientRecord executeFetch(conn connection, String patientNumber, boolean includeReason) throws SQLException {
+    private static PatientRecord executeFetch(conn connection, String patientNumber, boolean includeReason) throws SQLException {
         String reasonSelect = includeReason ? "p.Admission_Reason as Admission_Reason" : "NULL as Admission_Reason";
-        String query = "select p.ID, p.number, p.Name, p.Gender, p.Disease, p.Room_Number, p.Time, p.Deposite, " + reasonSelect + ", r.Price, r.Bed_Type " +
+        String query = "select p.ID, p.number, p.Name, p.Gender, p.Disease, p.Room_Number, p.Time, " + AdmissionTimes.selectColumn("p")
+                + ", p.Deposite, " + reasonSelect + ", r.Price, r.Bed_Type " +
                 "from Patient_Info p left join room r on r.room_no = p.Room_Number where p.number = ?";
         try (PreparedStatement ps = connection.connection.prepareStatement(query)) {
             ps.setString(1, patientNumber);
@@ -159,7 +132,7 @@ final class PatientDetailsDialog extends JDialog {
                 if (!rs.next()) {
                     return null;
                 }
-                LocalDateTime checkIn = parseTimestamp(rs.getString("Time"));
+                LocalDateTime checkIn = AdmissionTimes.read(rs);
                 int deposit = safeInt(rs, "Deposite");
                 int price = safeInt(rs, "Price");
                 String reason = includeReason ? nonEmpty(rs.getString("Admission_Reason"), "—") : "—";
@@ -181,42 +154,14 @@ final class PatientDetailsDialog extends JDialog {
         }
     }
 
-    private boolean isMissingAdmissionReasonColumn(SQLException ex) {
-        for (SQLException current = ex; current != null; current = current.getNextException()) {
-            String state = current.getSQLState();
-            int code = current.getErrorCode();
-            if ("42S22".equals(state) || code == 1054) {
-                return true;
-            }
-            String message = Objects.toString(current.getMessage(), "").toLowerCase(Locale.ENGLISH);
-            if (message.contains("unknown column") && message.contains("admission_reason")) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private int safeInt(ResultSet rs, String column) throws SQLException {
+    private static int safeInt(ResultSet rs, String column) throws SQLException {
         int value = rs.getInt(column);
         return rs.wasNull() ? 0 : value;
     }
 
-    private LocalDateTime parseTimestamp(String raw) {
-        if (raw == null || raw.isBlank()) {
-            return null;
-        }
-        for (DateTimeFormatter formatter : SUPPORTED_INPUT_FORMATS) {
-            try {
-                return LocalDateTime.parse(raw, formatter);
-            } catch (DateTimeParseException ignored) {
-            }
-        }
-        return null;
-    }
-
     private String formatDateTime(LocalDateTime value, String fallback) {
         if (value != null) {
-            return value.format(DISPLAY_FORMAT);
+            return AdmissionTimes.format(value);
         }
         return nonEmpty(fallback, "—");
     }
@@ -225,7 +170,7 @@ final class PatientDetailsDialog extends JDialog {
         return String.format(Locale.ENGLISH, "₹%,d", amount);
     }
 
-    private String nonEmpty(String value, String fallback) {
+    private static String nonEmpty(String value, String fallback) {
         String trimmed = Objects.toString(value, "").trim();
         return trimmed.isEmpty() ? fallback : trimmed;
     }
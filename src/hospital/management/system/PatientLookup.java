@@ -0,0 +1,61 @@
+package hospital.management.system;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds active patients for the selectors on the update and discharge forms. A lookup returns at most a
+ * handful of matches, so the forms never load the whole of {@code Patient_Info}. Both halves of the query are
+ * prefix range scans, one on the primary key and one on {@code idx_patient_name}, and each stops after
+ * {@code limit} rows, so a lookup costs the same at a hundred patients as at a hundred thousand.
+ */
+final class PatientLookup {
+
+    static final String SEARCH = "select number, Name, Room_Number from ("
+            + "(select number, Name, Room_Number from Patient_Info where Name like ? order by Name, number limit ?) "
+            + "union "
+            + "(select number, Name, Room_Number from Patient_Info where number like ? order by number limit ?)"
+            + ") matches order by Name, number limit ?";
+
+    private PatientLookup() {
+    }
+
+    /**
+     * Patients whose name or number starts with {@code prefix}, by name. A blank prefix lists the first
+     * patients alphabetically.
+     */
+    static List<Match> search(String prefix, int limit, DataAccessExecutor.Task task) throws SQLException {
+        String pattern = escapeLike(prefix.trim()) + "%";
+        List<Match> matches = new ArrayList<>(limit);
+        try (conn c = new conn(); PreparedStatement select = c.connection.prepareStatement(SEARCH)) {
+            select.setString(1, pattern);
+            select.setInt(2, limit);
+            select.setString(3, pattern);
+            select.setInt(4, limit);
+            select.setInt(5, limit);
+            task.track(select);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    matches.add(new Match(rs.getString("number"), rs.getString("Name"), rs.getString("Room_Number")));
+                }
+            } finally {
+                task.track(null);
+            }
+        }
+        return matches;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    record Match(String number, String name, String roomNumber) {
+        /** What the selector shows; two patients with the same name still read differently. */
+        String label() {
+            return name + "  ·  #" + number + "  ·  Room " + roomNumber;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package hospital.management.system;
+
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable prefix index over the quick-search columns of the patient directory. Every value is split into
+ * lower-case alphanumeric tokens; a query matches a row when each of its words is a prefix of some token in
+ * that row. Lookups binary-search a sorted token array and union posting lists, so a keystroke costs time
+ * proportional to the matches rather than to the number of cells. With several words, the cheapest word is
+ * expanded first; a later word that spans thousands of tokens ({@code "cardiology 4"}) is instead checked
+ * against each remaining row's own tokens, so it does not cost a union over half the table.
+ * {@code scripts/PatientSearchBenchmark.java} times lookups at 500,000 patients.
+ */
+final class PatientSearchIndex {
+
+    private static final String[] INDEXED_COLUMNS = {"Name", "number", "Disease", "Room_Number"};
+    // Measured at 500,000 rows: visiting a token's posting list costs about ten postings, and checking one
+    // candidate row against its own tokens (a cache miss or two) about sixteen.
+    private static final int TOKEN_COST = 10;
+    private static final int ROW_CHECK_COST = 16;
+
+    private final int rowCount;
+    private final String[] tokens;
+    private final int[][] postings;
+    // postingCounts[i] is the number of postings of tokens before i, so a prefix's size is one subtraction.
+    private final int[] postingCounts;
+    // Token ids of row r, ascending: rowTokens[rowTokenStarts[r]] up to rowTokens[rowTokenStarts[r + 1]].
+    private final int[] rowTokenStarts;
+    private final int[] rowTokens;
+
+    private PatientSearchIndex(int rowCount, String[] tokens, int[][] postings) {
+        this.rowCount = rowCount;
+        this.tokens = tokens;
+        this.postings = postings;
+        postingCounts = new int[tokens.length + 1];
+        rowTokenStarts = new int[rowCount + 1];
+        for (int i = 0; i < tokens.length; i++) {
+            postingCounts[i + 1] = postingCounts[i] + postings[i].length;
+            for (int row : postings[i]) {
+                rowTokenStarts[row + 1]++;
+            }
+        }
+        for (int row = 0; row < rowCount; row++) {
+            rowTokenStarts[row + 1] += rowTokenStarts[row];
+        }
+        rowTokens = new int[postingCounts[tokens.length]];
+        int[] next = Arrays.copyOf(rowTokenStarts, rowCount);
+        for (int i = 0; i < tokens.length; i++) {
+            for (int row : postings[i]) {
+                rowTokens[next[row]++] = i;
+            }
+        }
+    }
+
+    /** Reads every indexed cell once; call off the event dispatch thread for large directories. */
+    static PatientSearchIndex build(TableModel model) {
+        int[] columns = Arrays.stream(INDEXED_COLUMNS)
+                .mapToInt(name -> findColumn(model, name))
+                .filter(index -> index >= 0)
+                .toArray();
+
+        Map<String, Postings> byToken = new HashMap<>();
+        int rows = model.getRowCount();
+        List<String> scratch = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int column : columns) {
+                Object value = model.getValueAt(row, column);
+                if (value == null) {
+                    continue;
+                }
+                scratch.clear();
+                tokenize(value.toString(), scratch);
+                for (String token : scratch) {
+                    byToken.computeIfAbsent(token, key -> new Postings()).add(row);
+                }
+            }
+        }
+
+        String[] sortedTokens = byToken.keySet().toArray(new String[0]);
+        Arrays.sort(sortedTokens);
+        int[][] lists = new int[sortedTokens.length][];
+        for (int i = 0; i < sortedTokens.length; i++) {
+            lists[i] = byToken.get(sortedTokens[i]).toArray();
+        }
+        return new PatientSearchIndex(rows, sortedTokens, lists);
+    }
+
+    /**
+     * Returns the model rows matching every word of {@code query}, or {@code null} when the query has no
+     * searchable words and the table should show everything.
+     */
+    BitSet search(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query != null) {
+            tokenize(query, terms);
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        // Token id range [from, to) of every word, cheapest word first.
+        int[][] ranges = new int[terms.size()][];
+        for (int i = 0; i < ranges.length; i++) {
+            String term = terms.get(i);
+            ranges[i] = new int[] {lowerBound(term), lowerBound(term + Character.MAX_VALUE)};
+        }
+        Arrays.sort(ranges, (a, b) -> Long.compare(unionCost(a), unionCost(b)));
+
+        BitSet result = union(ranges[0]);
+        for (int i = 1; i < ranges.length && !result.isEmpty(); i++) {
+            int[] range = ranges[i];
+            if ((long) result.cardinality() * ROW_CHECK_COST < unionCost(range)) {
+                for (int row = result.nextSetBit(0); row >= 0; row = result.nextSetBit(row + 1)) {
+                    if (!rowHasToken(row, range[0], range[1])) {
+                        result.clear(row);
+                    }
+                }
+            } else {
+                result.and(union(range));
+            }
+        }
+        return result;
+    }
+
+    private long unionCost(int[] range) {
+        return (long) (range[1] - range[0]) * TOKEN_COST + postingCounts[range[1]] - postingCounts[range[0]];
+    }
+
+    private BitSet union(int[] range) {
+        BitSet matches = new BitSet(rowCount);
+        for (int i = range[0]; i < range[1]; i++) {
+            for (int row : postings[i]) {
+                matches.set(row);
+            }
+        }
+        return matches;
+    }
+
+    private boolean rowHasToken(int row, int from, int to) {
+        for (int i = rowTokenStarts[row]; i < rowTokenStarts[row + 1]; i++) {
+            int token = rowTokens[i];
+            if (token >= from) {
+                return token < to;
+            }
+        }
+        return false;
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens[mid].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void tokenize(String text, List<String> out) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                out.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    private static int findColumn(TableModel model, String name) {
+        for (int i = 0; i < model.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(model.getColumnName(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Postings {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
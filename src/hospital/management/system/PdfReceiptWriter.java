@@ -1,116 +1,124 @@
 package hospital.management.system;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.zip.Deflater;
 
+/**
+ * Writes discharge receipts as single-page PDFs. The document is streamed straight to the target channel with
+ * xref offsets counted on the way, and the page content is FlateDecode-compressed. Every buffer, the deflater
+ * and the formatting scratch space are kept per thread, so a receipt costs little more than its text and the
+ * bulk exporters are limited by the disk rather than the collector.
+ */
 final class PdfReceiptWriter {
 
     private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm", Locale.ENGLISH);
     private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ENGLISH);
 
+    private static final int CHANNEL_BUFFER_BYTES = 8 * 1024;
+    private static final int OBJECT_COUNT = 5;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     private PdfReceiptWriter() {
     }
 
     static Path writeDischargeSummary(Path outputDirectory, DischargeDetails details) throws IOException {
         Files.createDirectories(outputDirectory);
-        String sanitizedPatientId = sanitize(details.patientNumber());
-        if (sanitizedPatientId.isEmpty()) {
-            sanitizedPatientId = "patient";
+        Path target = outputDirectory.resolve(fileName(details));
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(details, channel);
         }
-        String filename = String.format(Locale.ENGLISH, "discharge-%s-%s.pdf",
-                sanitizedPatientId,
-                details.checkOut().format(FILE_FORMAT));
-        Path target = outputDirectory.resolve(filename);
-        Files.write(target, buildDocument(details));
         return target;
     }
 
-    private static byte[] buildDocument(DischargeDetails details) throws IOException {
-        byte[] content = buildContentStream(details);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        write(out, "%PDF-1.4\n");
-        List<Integer> offsets = new ArrayList<>();
-        offsets.add(0);
-
-        offsets.add(out.size());
-        write(out, "1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
-        offsets.add(out.size());
-        write(out, "2 0 obj\n<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n");
-        offsets.add(out.size());
-        write(out, "3 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 595 842] /Contents 4 0 R /Resources << /Font << /F1 5 0 R >> >> >>\nendobj\n");
-
-        offsets.add(out.size());
-        write(out, "4 0 obj\n<< /Length " + content.length + " >>\nstream\n");
-        out.write(content);
-        write(out, "\nendstream\nendobj\n");
-
-        offsets.add(out.size());
-        write(out, "5 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>\nendobj\n");
-
-        int xrefOffset = out.size();
-        write(out, "xref\n0 " + offsets.size() + "\n");
-        write(out, String.format(Locale.ENGLISH, "%010d 65535 f \n", 0));
-        for (int i = 1; i < offsets.size(); i++) {
-            write(out, String.format(Locale.ENGLISH, "%010d 00000 n \n", offsets.get(i)));
-        }
-        write(out, "trailer\n<< /Size " + offsets.size() + " /Root 1 0 R >>\nstartxref\n" + xrefOffset + "\n%%EOF");
-        return out.toByteArray();
+    /** Streams the receipt for {@code details} to {@code channel}; the channel is left open. */
+    static void write(DischargeDetails details, WritableByteChannel channel) throws IOException {
+        Scratch scratch = SCRATCH.get();
+        scratch.content.reset();
+        writeContentStream(scratch, details);
+        int compressedLength = scratch.compressContent();
+
+        ChannelOutput out = scratch.output;
+        out.open(channel);
+        int[] offsets = scratch.offsets;
+        out.ascii("%PDF-1.4\n");
+
+        offsets[1] = out.offset();
+        out.ascii("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+        offsets[2] = out.offset();
+        out.ascii("2 0 obj\n<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n");
+        offsets[3] = out.offset();
+        out.ascii("3 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 595 842] /Contents 4 0 R /Resources << /Font << /F1 5 0 R >> >> >>\nendobj\n");
+
+        offsets[4] = out.offset();
+        out.ascii("4 0 obj\n<< /Length ").decimal(compressedLength).ascii(" /Filter /FlateDecode >>\nstream\n");
+        out.bytes(scratch.compressed, compressedLength);
+        out.ascii("\nendstream\nendobj\n");
+
+        offsets[5] = out.offset();
+        out.ascii("5 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>\nendobj\n");
+
+        int xrefOffset = out.offset();
+        out.ascii("xref\n0 ").decimal(OBJECT_COUNT + 1).ascii("\n");
+        out.ascii("0000000000 65535 f \n");
+        for (int i = 1; i <= OBJECT_COUNT; i++) {
+            out.padded(offsets[i], 10).ascii(" 00000 n \n");
+        }
+        out.ascii("trailer\n<< /Size ").decimal(OBJECT_COUNT + 1).ascii(" /Root 1 0 R >>\nstartxref\n")
+                .decimal(xrefOffset).ascii("\n%%EOF");
+        out.close();
+    }
+
+    static String fileName(DischargeDetails details) {
+        String sanitizedPatientId = sanitize(details.patientNumber());
+        if (sanitizedPatientId.isEmpty()) {
+            sanitizedPatientId = "patient";
+        }
+        return "discharge-" + sanitizedPatientId + "-" + details.checkOut().format(FILE_FORMAT) + ".pdf";
     }
 
-    private static byte[] buildContentStream(DischargeDetails details) {
-        List<PdfLine> lines = new ArrayList<>();
-        lines.add(new PdfLine(72, 770, 22, "Hospital Management System"));
-        lines.add(new PdfLine(72, 740, 16, "Patient Discharge Summary"));
-        lines.add(new PdfLine(72, 708, 12, "Generated: " + formatTimestamp(details.checkOut())));
+    private static void writeContentStream(Scratch scratch, DischargeDetails details) throws IOException {
+        ContentBuffer content = scratch.content;
+        content.ascii("BT\n");
+        content.line(72, 770, 22).text("Hospital Management System").endLine();
+        content.line(72, 740, 16).text("Patient Discharge Summary").endLine();
+        content.line(72, 708, 12).text("Generated: ").text(scratch.timestamp(details.checkOut())).endLine();
 
-        String patientLine = "Patient: " + nonEmpty(details.patientNumber(), "Unknown");
+        content.line(72, 660, 14).text("Patient: ").text(nonEmpty(details.patientNumber(), "Unknown"));
         if (details.patientName() != null && !details.patientName().isBlank()) {
-            patientLine += " - " + details.patientName();
+            content.text(" - ").text(details.patientName());
         }
-        lines.add(new PdfLine(72, 660, 14, patientLine));
+        content.endLine();
 
-        String roomLine = "Room: " + nonEmpty(details.roomNumber(), "N/A");
+        content.line(72, 632, 12).text("Room: ").text(nonEmpty(details.roomNumber(), "N/A"));
         if (details.bedType() != null && !details.bedType().isBlank()) {
-            roomLine += " (Bed: " + details.bedType() + ")";
-        }
-        lines.add(new PdfLine(72, 632, 12, roomLine));
-        lines.add(new PdfLine(72, 604, 12, "Check-in: " + formatTimestamp(details.checkIn())));
-        lines.add(new PdfLine(72, 576, 12, "Check-out: " + formatTimestamp(details.checkOut())));
-        lines.add(new PdfLine(72, 544, 12, "Stay length: " + details.stayDays() + (details.stayDays() == 1 ? " day" : " days")));
-        lines.add(new PdfLine(72, 516, 12, "Room rate: " + formatCurrency(details.roomRate()) + " per day"));
-        lines.add(new PdfLine(72, 488, 12, "Room charges: " + formatCurrency(details.roomCharge())));
-        lines.add(new PdfLine(72, 460, 12, "Deposit recorded: " + formatCurrency(details.deposit())));
+            content.text(" (Bed: ").text(details.bedType()).text(")");
+        }
+        content.endLine();
+        content.line(72, 604, 12).text("Check-in: ").text(scratch.timestamp(details.checkIn())).endLine();
+        content.line(72, 576, 12).text("Check-out: ").text(scratch.timestamp(details.checkOut())).endLine();
+        content.line(72, 544, 12).text("Stay length: ").decimal(details.stayDays())
+                .text(details.stayDays() == 1 ? " day" : " days").endLine();
+        content.line(72, 516, 12).text("Room rate: ").currency(details.roomRate()).text(" per day").endLine();
+        content.line(72, 488, 12).text("Room charges: ").currency(details.roomCharge()).endLine();
+        content.line(72, 460, 12).text("Deposit recorded: ").currency(details.deposit()).endLine();
         long balanceAmount = Math.abs((long) details.balance());
-        String balanceLabel = details.balance() >= 0 ? "Balance due: " : "Refund owed: ";
-        lines.add(new PdfLine(72, 432, 12, balanceLabel + formatCurrency(balanceAmount)));
-        lines.add(new PdfLine(72, 392, 12, "Prepared by: Reception desk"));
-        lines.add(new PdfLine(72, 364, 11, "Note: Share this receipt with the patient and finance team."));
-
-        StringBuilder content = new StringBuilder();
-        content.append("BT\n");
-        for (PdfLine line : lines) {
-            content.append(String.format(Locale.ENGLISH, "/F1 %.1f Tf\n", line.fontSize()));
-            content.append(String.format(Locale.ENGLISH, "1 0 0 1 %.2f %.2f Tm\n", line.x(), line.y()));
-            content.append("(").append(escape(line.text())).append(") Tj\n");
-        }
-        content.append("ET\n");
-        return content.toString().getBytes(StandardCharsets.US_ASCII);
-    }
-
-    private static String escape(String text) {
-        return text.replace("\\", "\\\\").replace("(", "\\(").replace(")", "\\)");
-    }
-
-    private static void write(ByteArrayOutputStream out, String text) throws IOException {
-        out.write(text.getBytes(StandardCharsets.US_ASCII));
+        content.line(72, 432, 12).text(details.balance() >= 0 ? "Balance due: " : "Refund owed: ")
+                .currency(balanceAmount).endLine();
+        content.line(72, 392, 12).text("Prepared by: Reception desk").endLine();
+        content.line(72, 364, 11).text("Note: Share this receipt with the patient and finance team.").endLine();
+        content.ascii("ET\n");
     }
 
     private static String sanitize(String value) {
@@ -124,12 +132,224 @@ final class PdfReceiptWriter {
         return (value == null || value.isBlank()) ? fallback : value;
     }
 
-    private static String formatCurrency(long amount) {
-        return String.format(Locale.ENGLISH, "INR %,d", amount);
+    /** Per-thread state reused by every receipt written on that thread. */
+    private static final class Scratch {
+        final ContentBuffer content = new ContentBuffer();
+        final ChannelOutput output = new ChannelOutput();
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        final int[] offsets = new int[OBJECT_COUNT + 1];
+        final StringBuilder timestamp = new StringBuilder(24);
+        byte[] compressed = new byte[1024];
+
+        CharSequence timestamp(LocalDateTime time) {
+            if (time == null) {
+                return "N/A";
+            }
+            timestamp.setLength(0);
+            DISPLAY_FORMAT.formatTo(time, timestamp);
+            return timestamp;
+        }
+
+        /** Deflates the content buffer into {@link #compressed} and returns the compressed length. */
+        int compressContent() {
+            deflater.reset();
+            deflater.setInput(content.bytes, 0, content.length);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            return length;
+        }
+    }
+
+    /**
+     * ASCII output with the number formatting the PDF syntax needs, written byte by byte so nothing goes
+     * through {@code String.format}. Characters outside ASCII become {@code ?}, as the old encoder did.
+     */
+    private abstract static class AsciiOutput<T extends AsciiOutput<T>> {
+        private final byte[] digits = new byte[20];
+
+        abstract void put(byte value) throws IOException;
+
+        abstract T self();
+
+        final T ascii(CharSequence text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                put(ch < 0x80 ? (byte) ch : (byte) '?');
+            }
+            return self();
+        }
+
+        final T decimal(long value) throws IOException {
+            return padded(value, 1);
+        }
+
+        /** Writes {@code value} left-padded with zeros to at least {@code width} digits. */
+        final T padded(long value, int width) throws IOException {
+            if (value < 0) {
+                put((byte) '-');
+                value = -value;
+            }
+            int count = 0;
+            do {
+                digits[count++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            for (int i = count; i < width; i++) {
+                put((byte) '0');
+            }
+            while (count > 0) {
+                put(digits[--count]);
+            }
+            return self();
+        }
+
+        /** Writes {@code value} rounded half-up to {@code decimals} places, like {@code %.Nf}. */
+        final T fixed(double value, int decimals) throws IOException {
+            long scale = 1;
+            for (int i = 0; i < decimals; i++) {
+                scale *= 10;
+            }
+            long scaled = Math.round(Math.abs(value) * scale);
+            if (value < 0 && scaled != 0) {
+                put((byte) '-');
+            }
+            decimal(scaled / scale);
+            if (decimals > 0) {
+                put((byte) '.');
+                padded(scaled % scale, decimals);
+            }
+            return self();
+        }
+    }
+
+    /** Growable buffer for the uncompressed page content. */
+    private static final class ContentBuffer extends AsciiOutput<ContentBuffer> {
+        byte[] bytes = new byte[2048];
+        int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        @Override
+        void put(byte value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = value;
+        }
+
+        @Override
+        ContentBuffer self() {
+            return this;
+        }
+
+        /** Opens a text line: font size and position, then the string operand. */
+        ContentBuffer line(double x, double y, double fontSize) throws IOException {
+            ascii("/F1 ").fixed(fontSize, 1).ascii(" Tf\n");
+            ascii("1 0 0 1 ").fixed(x, 2).ascii(" ").fixed(y, 2).ascii(" Tm\n(");
+            return this;
+        }
+
+        ContentBuffer endLine() throws IOException {
+            return ascii(") Tj\n");
+        }
+
+        /** Writes text inside a PDF string operand, escaping the delimiters. */
+        ContentBuffer text(CharSequence text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (ch == '\\' || ch == '(' || ch == ')') {
+                    put((byte) '\\');
+                }
+                put(ch < 0x80 ? (byte) ch : (byte) '?');
+            }
+            return this;
+        }
+
+        /** Writes {@code INR} and the amount with thousands separators, matching {@code "INR %,d"}. */
+        ContentBuffer currency(long amount) throws IOException {
+            ascii("INR ");
+            if (amount < 0) {
+                put((byte) '-');
+                amount = -amount;
+            }
+            long divisor = 1;
+            while (amount / divisor >= 1000) {
+                divisor *= 1000;
+            }
+            decimal(amount / divisor);
+            while (divisor > 1) {
+                amount %= divisor;
+                divisor /= 1000;
+                put((byte) ',');
+                padded(amount / divisor, 3);
+            }
+            return this;
+        }
     }
 
-    private static String formatTimestamp(LocalDateTime time) {
-        return time == null ? "N/A" : time.format(DISPLAY_FORMAT);
+    /** Buffered writer onto a channel that knows how many bytes of the document precede the cursor. */
+    private static final class ChannelOutput extends AsciiOutput<ChannelOutput> {
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHANNEL_BUFFER_BYTES);
+        private WritableByteChannel channel;
+        private int flushed;
+
+        void open(WritableByteChannel target) {
+            channel = target;
+            flushed = 0;
+            buffer.clear();
+        }
+
+        int offset() {
+            return flushed + buffer.position();
+        }
+
+        @Override
+        void put(byte value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(value);
+        }
+
+        @Override
+        ChannelOutput self() {
+            return this;
+        }
+
+        void bytes(byte[] source, int length) throws IOException {
+            int written = 0;
+            while (written < length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(buffer.remaining(), length - written);
+                buffer.put(source, written, chunk);
+                written += chunk;
+            }
+        }
+
+        /** Flushes what is left and lets go of the channel; closing the channel stays with the caller. */
+        void close() throws IOException {
+            flush();
+            channel = null;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            flushed += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
     }
 
     static record DischargeDetails(
@@ -145,7 +365,4 @@ final class PdfReceiptWriter {
             int deposit,
             int balance) {
     }
-
-    private record PdfLine(double x, double y, double fontSize, String text) {
-    }
 }
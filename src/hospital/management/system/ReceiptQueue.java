@@ -0,0 +1,293 @@
+package hospital.management.system;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Renders discharge receipts in the background so the desk never waits on the disk. A discharge appends its
+ * receipt request to a journal file once the database has committed; a single worker renders the PDF, retries
+ * with exponential back-off when that fails, and marks the request done in the journal. Requests still pending
+ * when the application exits are replayed on the next launch. Listeners hear about finished receipts on the
+ * event dispatch thread.
+ *
+ * <p>The journal holds one tab-separated line per event: {@code A} with the job id and receipt fields when a
+ * job is added, {@code D} with the job id when it is done. It is rewritten without finished jobs at start-up
+ * and emptied whenever the queue drains.
+ */
+final class ReceiptQueue {
+
+    static final Path RECEIPT_DIRECTORY = Path.of("exports", "receipts");
+
+    private static final Path JOURNAL = RECEIPT_DIRECTORY.resolve("receipt-queue.journal");
+    private static final long FIRST_RETRY_DELAY_MS = 2_000;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+    // After this many failures the job waits for the next launch instead of retrying all day.
+    private static final int MAX_ATTEMPTS = 8;
+    private static final String NULL_FIELD = "\\N";
+
+    private static final ScheduledExecutorService WORKER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "receipt-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final List<Consumer<Completion>> LISTENERS = new ArrayList<>();
+
+    // Guarded by the class lock.
+    private static final Map<Long, PdfReceiptWriter.DischargeDetails> PENDING = new LinkedHashMap<>();
+    private static FileChannel journal;
+    private static boolean journalBroken;
+    private static boolean replayed;
+    private static long nextId = 1;
+
+    private ReceiptQueue() {
+    }
+
+    /** Replays requests left over from the previous session; called when the login window opens. */
+    static void startInBackground() {
+        WORKER.execute(() -> {
+            try {
+                open();
+            } catch (IOException ex) {
+                System.err.println("Unable to read receipt queue: " + ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Records a receipt request and schedules it. Call after the discharge has committed; returns once the
+     * request is on disk. If the journal cannot be written the receipt is still rendered, it just would not
+     * survive a crash, so a discharge never fails because of its receipt.
+     */
+    static void enqueue(PdfReceiptWriter.DischargeDetails details) {
+        long id;
+        synchronized (ReceiptQueue.class) {
+            try {
+                open();
+            } catch (IOException ex) {
+                System.err.println("Unable to read receipt queue: " + ex.getMessage());
+            }
+            id = nextId++;
+            PENDING.put(id, details);
+            append("A\t" + id + "\t" + encode(details));
+        }
+        schedule(id, details, 1, 0);
+    }
+
+    /** Starts delivering finished receipts to {@code listener}; the returned handle unsubscribes. */
+    static Runnable subscribe(Consumer<Completion> listener) {
+        LISTENERS.add(listener);
+        return () -> LISTENERS.remove(listener);
+    }
+
+    private static synchronized void open() throws IOException {
+        if (journal != null || journalBroken) {
+            return;
+        }
+        Files.createDirectories(RECEIPT_DIRECTORY);
+        if (!replayed) {
+            replayed = true;
+            try {
+                if (Files.exists(JOURNAL)) {
+                    replay(Files.readString(JOURNAL, StandardCharsets.UTF_8));
+                    compact();
+                }
+            } finally {
+                // Replayed receipts are rendered even if the journal cannot be rewritten or reopened below;
+                // they are then only marked done in memory and come back on the next launch.
+                for (Map.Entry<Long, PdfReceiptWriter.DischargeDetails> job : PENDING.entrySet()) {
+                    schedule(job.getKey(), job.getValue(), 1, 0);
+                }
+            }
+        }
+        try {
+            journal = FileChannel.open(JOURNAL, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            journalBroken = true;
+            throw ex;
+        }
+    }
+
+    private static void replay(String contents) {
+        // A line without its newline was cut off by a crash mid-append; the discharge it belonged to never
+        // got past enqueue, so it is dropped.
+        int end = contents.lastIndexOf('\n');
+        for (String line : contents.substring(0, end + 1).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            try {
+                long id = Long.parseLong(fields[1]);
+                nextId = Math.max(nextId, id + 1);
+                if ("A".equals(fields[0])) {
+                    PENDING.put(id, decode(fields));
+                } else if ("D".equals(fields[0])) {
+                    PENDING.remove(id);
+                }
+            } catch (RuntimeException ex) {
+                System.err.println("Skipping unreadable receipt queue entry: " + line);
+            }
+        }
+    }
+
+    /** Rewrites the journal with only the pending jobs, through a temporary file so a crash cannot lose them. */
+    private static void compact() throws IOException {
+        StringBuilder contents = new StringBuilder();
+        for (Map.Entry<Long, PdfReceiptWriter.DischargeDetails> job : PENDING.entrySet()) {
+            contents.append("A\t").append(job.getKey()).append('\t').append(encode(job.getValue())).append('\n');
+        }
+        Path temporary = JOURNAL.resolveSibling(JOURNAL.getFileName() + ".tmp");
+        Files.writeString(temporary, contents, StandardCharsets.UTF_8);
+        Files.move(temporary, JOURNAL, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static synchronized void append(String line) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                journal.write(bytes);
+            }
+            journal.force(false);
+        } catch (IOException ex) {
+            System.err.println("Unable to write receipt queue: " + ex.getMessage());
+        }
+    }
+
+    private static void schedule(long id, PdfReceiptWriter.DischargeDetails details, int attempt, long delayMs) {
+        WORKER.schedule(() -> render(id, details, attempt), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static void render(long id, PdfReceiptWriter.DischargeDetails details, int attempt) {
+        Path receipt;
+        try {
+            receipt = PdfReceiptWriter.writeDischargeSummary(RECEIPT_DIRECTORY, details);
+        } catch (IOException | RuntimeException ex) {
+            if (attempt < MAX_ATTEMPTS) {
+                long delay = Math.min(MAX_RETRY_DELAY_MS, FIRST_RETRY_DELAY_MS << (attempt - 1));
+                System.err.println("Receipt for " + details.patientNumber() + " failed (attempt " + attempt
+                        + "), retrying in " + delay / 1000 + " s: " + ex.getMessage());
+                schedule(id, details, attempt + 1, delay);
+            } else {
+                notifyListeners(new Completion(details, null, ex));
+            }
+            return;
+        }
+        markDone(id);
+        notifyListeners(new Completion(details, receipt, null));
+    }
+
+    private static synchronized void markDone(long id) {
+        PENDING.remove(id);
+        if (journal == null) {
+            return;
+        }
+        if (PENDING.isEmpty()) {
+            try {
+                journal.truncate(0);
+                journal.force(false);
+                return;
+            } catch (IOException ex) {
+                System.err.println("Unable to reset receipt queue: " + ex.getMessage());
+            }
+        }
+        append("D\t" + id);
+    }
+
+    private static void notifyListeners(Completion completion) {
+        SwingUtilities.invokeLater(() -> {
+            if (LISTENERS.isEmpty() && !completion.succeeded()) {
+                System.err.println("Receipt for " + completion.details().patientNumber() + " could not be saved: "
+                        + completion.failure().getMessage());
+            }
+            for (Consumer<Completion> listener : new ArrayList<>(LISTENERS)) {
+                listener.accept(completion);
+            }
+        });
+    }
+
+    private static String encode(PdfReceiptWriter.DischargeDetails details) {
+        return String.join("\t",
+                encode(details.patientNumber()),
+                encode(details.patientName()),
+                encode(details.roomNumber()),
+                encode(details.bedType()),
+                encode(details.checkIn() == null ? null : details.checkIn().toString()),
+                encode(details.checkOut() == null ? null : details.checkOut().toString()),
+                Long.toString(details.stayDays()),
+                Integer.toString(details.roomRate()),
+                Integer.toString(details.roomCharge()),
+                Integer.toString(details.deposit()),
+                Integer.toString(details.balance()));
+    }
+
+    private static PdfReceiptWriter.DischargeDetails decode(String[] fields) {
+        String checkIn = decode(fields[6]);
+        String checkOut = decode(fields[7]);
+        return new PdfReceiptWriter.DischargeDetails(
+                decode(fields[2]),
+                decode(fields[3]),
+                decode(fields[4]),
+                decode(fields[5]),
+                checkIn == null ? null : LocalDateTime.parse(checkIn),
+                checkOut == null ? null : LocalDateTime.parse(checkOut),
+                Long.parseLong(fields[8]),
+                Integer.parseInt(fields[9]),
+                Integer.parseInt(fields[10]),
+                Integer.parseInt(fields[11]),
+                Integer.parseInt(fields[12]));
+    }
+
+    private static String encode(String value) {
+        if (value == null) {
+            return NULL_FIELD;
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String decode(String value) {
+        if (NULL_FIELD.equals(value)) {
+            return null;
+        }
+        StringBuilder decoded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                decoded.append(switch (escaped) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+            } else {
+                decoded.append(ch);
+            }
+        }
+        return decoded.toString();
+    }
+
+    record Completion(PdfReceiptWriter.DischargeDetails details, Path receipt, Exception failure) {
+        boolean succeeded() {
+            return failure == null;
+        }
+    }
+}
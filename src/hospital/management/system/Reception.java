@@ -5,16 +5,12 @@ import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class Reception extends JFrame {
 
-    private static final int SNAPSHOT_REFRESH_INTERVAL_MS = 60_000;
     private static final int CLOCK_REFRESH_INTERVAL_MS = 1_000;
     private static final DateTimeFormatter CLOCK_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy • hh:mm a");
     private static final DateTimeFormatter SNAPSHOT_TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("hh:mm:ss a");
@@ -25,8 +21,10 @@ public class Reception extends JFrame {
     private JLabel snapshotTimestampLabel;
     private JLabel snapshotErrorLabel;
     private JLabel heroClockLabel;
-    private Timer statsRefreshTimer;
+    private JLabel schemaStatusLabel;
     private Timer heroClockTimer;
+    private Runnable snapshotSubscription;
+    private Runnable receiptSubscription;
 
     public Reception() {
         super("Reception workspace");
@@ -42,14 +40,12 @@ public class Reception extends JFrame {
 
         container.add(buildHeroSection(), BorderLayout.NORTH);
 
-        SnapshotStats stats = loadSnapshotStats();
-
         JPanel mainContent = new JPanel();
         mainContent.setOpaque(false);
         mainContent.setLayout(new BoxLayout(mainContent, BoxLayout.Y_AXIS));
         mainContent.setBorder(new EmptyBorder(0, 32, 32, 32));
 
-        mainContent.add(buildStatsSection(stats));
+        mainContent.add(buildStatsSection());
         mainContent.add(Box.createVerticalStrut(24));
         mainContent.add(buildNavigationSection());
 
@@ -90,6 +86,14 @@ public class Reception extends JFrame {
         heroClockLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
         titleBlock.add(heroClockLabel);
 
+        schemaStatusLabel = new JLabel();
+        schemaStatusLabel.setFont(UITheme.regularFont(13f));
+        schemaStatusLabel.setForeground(UITheme.MUTED);
+        schemaStatusLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        schemaStatusLabel.setBorder(new EmptyBorder(4, 0, 0, 0));
+        schemaStatusLabel.setVisible(false);
+        titleBlock.add(schemaStatusLabel);
+
         JPanel heroMeta = new JPanel();
         heroMeta.setOpaque(false);
         heroMeta.setLayout(new BoxLayout(heroMeta, BoxLayout.X_AXIS));
@@ -103,7 +107,7 @@ public class Reception extends JFrame {
         return hero;
     }
 
-    private JComponent buildStatsSection(SnapshotStats stats) {
+    private JComponent buildStatsSection() {
         JPanel wrapper = new JPanel();
         wrapper.setOpaque(false);
         wrapper.setLayout(new BoxLayout(wrapper, BoxLayout.Y_AXIS));
@@ -129,7 +133,8 @@ public class Reception extends JFrame {
             if (e != null) {
                 e.getActionCommand();
             }
-            refreshSnapshotData();
+            snapshotTimestampLabel.setText("Updating…");
+            DashboardSnapshot.refresh();
         });
 
         headerMeta.add(snapshotTimestampLabel);
@@ -145,13 +150,13 @@ public class Reception extends JFrame {
         grid.setOpaque(false);
         grid.setAlignmentX(Component.LEFT_ALIGNMENT);
 
-        activePatientsValueLabel = createValueLabel(stats.activePatients());
+        activePatientsValueLabel = createValueLabel();
         grid.add(createStatCard("Active patients", activePatientsValueLabel, "Currently admitted"));
 
-        availableRoomsValueLabel = createValueLabel(stats.availableRooms());
+        availableRoomsValueLabel = createValueLabel();
         grid.add(createStatCard("Available rooms", availableRoomsValueLabel, "Ready for assignment"));
 
-        ambulancesReadyValueLabel = createValueLabel(stats.ambulancesReady());
+        ambulancesReadyValueLabel = createValueLabel();
         grid.add(createStatCard("Ambulances ready", ambulancesReadyValueLabel, "Cleared for dispatch"));
 
         wrapper.add(grid);
@@ -164,8 +169,6 @@ public class Reception extends JFrame {
         snapshotErrorLabel.setVisible(false);
         wrapper.add(snapshotErrorLabel);
 
-        applySnapshot(stats, LocalDateTime.now());
-
         return wrapper;
     }
 
@@ -188,39 +191,30 @@ public class Reception extends JFrame {
         return card;
     }
 
-    private JLabel createValueLabel(int initialValue) {
-        JLabel label = new JLabel(formatCount(initialValue));
+    private JLabel createValueLabel() {
+        JLabel label = new JLabel("–");
         label.setFont(UITheme.headingFont(32f));
         label.setForeground(UITheme.PRIMARY_DARK);
         return label;
     }
 
     private void startDynamicUpdates() {
-        refreshSnapshotData();
-        statsRefreshTimer = new Timer(SNAPSHOT_REFRESH_INTERVAL_MS, event -> {
-            if (event != null) {
-                event.getWhen();
-            }
-            refreshSnapshotData();
-        });
-        statsRefreshTimer.start();
+        snapshotSubscription = DashboardSnapshot.subscribe(this::applySnapshot);
+        receiptSubscription = ReceiptQueue.subscribe(this::announceReceipt);
 
         updateHeroClock();
+        updateSchemaStatus();
         heroClockTimer = new Timer(CLOCK_REFRESH_INTERVAL_MS, event -> {
             if (event != null) {
                 event.getWhen();
             }
             updateHeroClock();
+            updateSchemaStatus();
         });
         heroClockTimer.start();
     }
 
-    private void refreshSnapshotData() {
-        SnapshotStats stats = loadSnapshotStats();
-        applySnapshot(stats, LocalDateTime.now());
-    }
-
-    private void applySnapshot(SnapshotStats stats, LocalDateTime timestamp) {
+    private void applySnapshot(DashboardSnapshot.Stats stats) {
         if (activePatientsValueLabel != null) {
             activePatientsValueLabel.setText(formatCount(stats.activePatients()));
         }
@@ -231,7 +225,7 @@ public class Reception extends JFrame {
             ambulancesReadyValueLabel.setText(formatCount(stats.ambulancesReady()));
         }
         if (snapshotTimestampLabel != null) {
-            snapshotTimestampLabel.setText("Updated " + formatSnapshotTimestamp(timestamp));
+            snapshotTimestampLabel.setText("Updated " + formatSnapshotTimestamp(stats.takenAt()));
         }
         if (snapshotErrorLabel != null) {
             if (stats.hasError()) {
@@ -250,6 +244,25 @@ public class Reception extends JFrame {
         }
     }
 
+    private void updateSchemaStatus() {
+        if (schemaStatusLabel == null) {
+            return;
+        }
+        SchemaMigrations.Status status = SchemaMigrations.status();
+        String text = null;
+        if (status.running() && status.migration() != null) {
+            text = "Updating database: " + status.migration();
+            if (status.rowsTotal() > 0) {
+                NumberFormat format = NumberFormat.getIntegerInstance();
+                text += " (" + format.format(status.rowsDone()) + " of " + format.format(status.rowsTotal()) + " rows)";
+            }
+        } else if (!status.deferred().isEmpty()) {
+            text = "Waiting for a maintenance launch: " + String.join(", ", status.deferred());
+        }
+        schemaStatusLabel.setText(text);
+        schemaStatusLabel.setVisible(text != null);
+    }
+
     private String formatHeroClock(LocalDateTime time) {
         return time.format(CLOCK_FORMAT);
     }
@@ -260,12 +273,17 @@ public class Reception extends JFrame {
 
     @Override
     public void dispose() {
-        if (statsRefreshTimer != null && statsRefreshTimer.isRunning()) {
-            statsRefreshTimer.stop();
-        }
         if (heroClockTimer != null && heroClockTimer.isRunning()) {
             heroClockTimer.stop();
         }
+        if (snapshotSubscription != null) {
+            snapshotSubscription.run();
+            snapshotSubscription = null;
+        }
+        if (receiptSubscription != null) {
+            receiptSubscription.run();
+            receiptSubscription = null;
+        }
         super.dispose();
     }
 
@@ -419,32 +437,14 @@ public class Reception extends JFrame {
         return card;
     }
 
-    private SnapshotStats loadSnapshotStats() {
-        int patientCount = 0;
-        int availableRooms = 0;
-        int ambulancesReady = 0;
-        String errorMessage = null;
-
-        try (conn c = new conn()) {
-            patientCount = countQuery(c, "select count(*) from Patient_Info");
-            availableRooms = countQuery(c, "select count(*) from room where Availability = 'Available'");
-            ambulancesReady = countQuery(c, "select count(*) from Ambulance where Available = 'Yes'");
-        } catch (Exception ex) {
-            errorMessage = "Check database connection.";
-            System.err.println("Unable to load snapshot stats: " + ex.getMessage());
-        }
-
-        return new SnapshotStats(patientCount, availableRooms, ambulancesReady, errorMessage);
-    }
-
-    private int countQuery(conn connection, String sql) throws SQLException {
-        try (PreparedStatement statement = connection.connection.prepareStatement(sql);
-             ResultSet resultSet = statement.executeQuery()) {
-            if (resultSet.next()) {
-                return resultSet.getInt(1);
-            }
+    private void announceReceipt(ReceiptQueue.Completion completion) {
+        String patient = completion.details().patientNumber();
+        if (completion.succeeded()) {
+            UIComponents.showToast(this, "Receipt ready for patient " + patient + "\n" + completion.receipt().getFileName());
+        } else {
+            UIComponents.showToast(this, "Receipt for patient " + patient + " could not be saved; it will be retried on next launch.\n"
+                    + completion.failure().getMessage());
         }
-        return 0;
     }
 
     private String formatCount(int value) {
@@ -458,20 +458,19 @@ public class Reception extends JFrame {
     }
 
     private static class AnimatedCard extends JPanel {
+        private static final CardSurface RESTING = new CardSurface(UITheme.SURFACE, null, 28);
+        private static final CardSurface HOVERED = new CardSurface(UITheme.PRIMARY_LIGHT, UITheme.PRIMARY_DARK, 28);
+
         private float hoverProgress = 0f;
         private float hoverTarget = 0f;
         private float introProgress = 0f;
         private float introTarget = 1f;
-        private final Timer animationTimer;
+        private final AnimationClock.Animation animation = this::stepAnimation;
+        private final SurfaceCache.Slot restingSurface = new SurfaceCache.Slot(RESTING);
+        private final SurfaceCache.Slot hoveredSurface = new SurfaceCache.Slot(HOVERED);
 
         AnimatedCard() {
             setOpaque(false);
-            animationTimer = new Timer(16, event -> {
-                if (event != null) {
-                    event.getWhen();
-                }
-                stepAnimation();
-            });
         }
 
         void triggerHover(boolean hovering) {
@@ -482,21 +481,14 @@ public class Reception extends JFrame {
         void scheduleIntro(int delayMs) {
             introProgress = 0f;
             introTarget = 1f;
-            Timer startTimer = new Timer(Math.max(0, delayMs), e -> {
-                startAnimation();
-                ((Timer) e.getSource()).stop();
-            });
-            startTimer.setRepeats(false);
-            startTimer.start();
+            AnimationClock.startAfter(animation, delayMs);
         }
 
         private void startAnimation() {
-            if (!animationTimer.isRunning()) {
-                animationTimer.start();
-            }
+            AnimationClock.start(animation);
         }
 
-        private void stepAnimation() {
+        private boolean stepAnimation() {
             boolean continueAnimation = false;
             hoverProgress = approach(hoverProgress, hoverTarget);
             introProgress = approach(introProgress, introTarget);
@@ -506,10 +498,8 @@ public class Reception extends JFrame {
             if (Math.abs(introProgress - introTarget) > 0.001f) {
                 continueAnimation = true;
             }
-            if (!continueAnimation) {
-                animationTimer.stop();
-            }
             repaint();
+            return continueAnimation;
         }
 
         private float approach(float value, float target) {
@@ -522,39 +512,35 @@ public class Reception extends JFrame {
 
         @Override
         protected void paintComponent(Graphics g) {
-            Graphics2D g2 = (Graphics2D) g.create();
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
+            Graphics2D g2 = (Graphics2D) g;
+            int width = getWidth();
+            int height = getHeight();
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            restingSurface.paint(g2, width, height, configuration);
+
+            // Cross-fading the two pre-rendered surfaces walks the same colour ramp the per-frame fill used to
+            // compute, using composites from a fixed table instead of a new Color every frame.
             float easedHover = (float) Math.pow(Math.max(0f, Math.min(1f, hoverProgress)), 0.6);
-            Color background = interpolate(UITheme.SURFACE, UITheme.PRIMARY_LIGHT, easedHover);
-            g2.setColor(background);
-            int arc = 28;
-            g2.fillRoundRect(0, 0, getWidth(), getHeight(), arc, arc);
-
             if (easedHover > 0f) {
-                g2.setComposite(AlphaComposite.SrcOver.derive(0.08f * easedHover));
-                g2.setColor(UITheme.PRIMARY_DARK);
-                g2.fillRoundRect(6, 6, Math.max(0, getWidth() - 12), Math.max(0, getHeight() - 12), arc - 6, arc - 6);
+                Composite previous = g2.getComposite();
+                g2.setComposite(SurfaceCache.alpha(easedHover));
+                hoveredSurface.paint(g2, width, height, configuration);
+                g2.setComposite(previous);
             }
-
-            g2.dispose();
-
-            Graphics2D contentGraphics = (Graphics2D) g.create();
-            float translateY = (1f - Math.max(0f, Math.min(1f, introProgress))) * 24f;
-            float alpha = Math.max(0f, Math.min(1f, introProgress));
-            contentGraphics.translate(0, translateY);
-            contentGraphics.setComposite(AlphaComposite.SrcOver.derive(alpha));
-            super.paintComponent(contentGraphics);
-            contentGraphics.dispose();
         }
 
-        private Color interpolate(Color start, Color end, float factor) {
-            factor = Math.max(0f, Math.min(1f, factor));
-            int r = (int) (start.getRed() + (end.getRed() - start.getRed()) * factor);
-            int g = (int) (start.getGreen() + (end.getGreen() - start.getGreen()) * factor);
-            int b = (int) (start.getBlue() + (end.getBlue() - start.getBlue()) * factor);
-            int a = (int) (start.getAlpha() + (end.getAlpha() - start.getAlpha()) * factor);
-            return new Color(r, g, b, a);
+        private record CardSurface(Color fill, Color overlay, int arc) implements SurfaceCache.Surface {
+            @Override
+            public void paint(Graphics2D g2, int width, int height) {
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.setColor(fill);
+                g2.fillRoundRect(0, 0, width, height, arc, arc);
+                if (overlay != null) {
+                    g2.setComposite(AlphaComposite.SrcOver.derive(0.08f));
+                    g2.setColor(overlay);
+                    g2.fillRoundRect(6, 6, Math.max(0, width - 12), Math.max(0, height - 12), arc - 6, arc - 6);
+                }
+            }
         }
     }
 
@@ -564,12 +550,6 @@ public class Reception extends JFrame {
         return card.contains(point);
     }
 
-    private record SnapshotStats(int activePatients, int availableRooms, int ambulancesReady, String errorMessage) {
-        boolean hasError() {
-            return errorMessage != null && !errorMessage.isBlank();
-        }
-    }
-
     public static void main(String[] args) {
         SwingUtilities.invokeLater(Reception::new);
     }
@@ -0,0 +1,178 @@
+package hospital.management.system;
+
+import javax.swing.table.TableModel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of the small tables every screen looks up: departments and rooms (availability, price,
+ * bed type). Entries expire after a short TTL and are dropped immediately when {@link ChangeEvents} reports a
+ * write, so a desk never waits a full TTL to see its own admission. The cached table models are read-only
+ * {@link ColumnarTableModel}s and may back several {@code JTable}s at once.
+ * Reads may block on MySQL after a miss, so call them off the event dispatch thread.
+ */
+final class ReferenceDataCache {
+
+    private static final long DEPARTMENT_TTL_NANOS = 10L * 60 * 1_000_000_000L;
+    // Availability moves with every admission; other desks' writes also arrive through the change watcher.
+    private static final long ROOM_TTL_NANOS = 30L * 1_000_000_000L;
+
+    private static final Entry<Departments> DEPARTMENTS = new Entry<>(DEPARTMENT_TTL_NANOS, ReferenceDataCache::loadDepartments);
+    private static final Entry<Rooms> ROOMS = new Entry<>(ROOM_TTL_NANOS, ReferenceDataCache::loadRooms);
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong INVALIDATIONS = new AtomicLong();
+
+    private ReferenceDataCache() {
+    }
+
+    static TableModel departmentTable() throws SQLException {
+        return DEPARTMENTS.get().table();
+    }
+
+    static List<String> departmentNames() throws SQLException {
+        return DEPARTMENTS.get().names();
+    }
+
+    static TableModel roomTable() throws SQLException {
+        return ROOMS.get().table();
+    }
+
+    /** Rooms currently marked available, in room-number order. */
+    static List<RoomInfo> availableRooms() throws SQLException {
+        List<RoomInfo> available = new ArrayList<>();
+        for (RoomInfo room : ROOMS.get().byNumber().values()) {
+            if ("Available".equalsIgnoreCase(room.availability())) {
+                available.add(room);
+            }
+        }
+        return available;
+    }
+
+    /** Returns the room with the given number, or {@code null} when there is none. */
+    static RoomInfo room(String roomNumber) throws SQLException {
+        return ROOMS.get().byNumber().get(roomNumber);
+    }
+
+    /** Called by {@link ChangeEvents#publish} before listeners run, so their reloads see fresh data. */
+    static void invalidate(Set<ChangeEvents.Topic> topics) {
+        if (topics.contains(ChangeEvents.Topic.DEPARTMENTS)) {
+            DEPARTMENTS.invalidate();
+        }
+        if (topics.contains(ChangeEvents.Topic.ROOMS)) {
+            ROOMS.invalidate();
+        }
+    }
+
+    /** Lookups since start-up; {@link Diagnostics} logs them when enabled. */
+    static CacheMetrics metrics() {
+        return new CacheMetrics(HITS.get(), MISSES.get(), INVALIDATIONS.get());
+    }
+
+    private static Departments loadDepartments() throws SQLException {
+        TableModel table = ResultSetTableModelBuilder.query("select * from department order by Department");
+        int column = findColumn(table, "Department");
+        List<String> names = new ArrayList<>(table.getRowCount());
+        for (int row = 0; row < table.getRowCount() && column >= 0; row++) {
+            names.add(String.valueOf(table.getValueAt(row, column)));
+        }
+        return new Departments(table, Collections.unmodifiableList(names));
+    }
+
+    private static Rooms loadRooms() throws SQLException {
+        TableModel table = ResultSetTableModelBuilder.query("select * from room order by room_no");
+        int numberColumn = findColumn(table, "room_no");
+        int availabilityColumn = findColumn(table, "Availability");
+        int priceColumn = findColumn(table, "Price");
+        int bedColumn = findColumn(table, "Bed_Type");
+        Map<String, RoomInfo> byNumber = new LinkedHashMap<>();
+        for (int row = 0; row < table.getRowCount(); row++) {
+            String number = String.valueOf(table.getValueAt(row, numberColumn));
+            Object price = table.getValueAt(row, priceColumn);
+            byNumber.put(number, new RoomInfo(number,
+                    String.valueOf(table.getValueAt(row, availabilityColumn)),
+                    price instanceof Number value ? value.intValue() : 0,
+                    String.valueOf(table.getValueAt(row, bedColumn))));
+        }
+        return new Rooms(table, Collections.unmodifiableMap(byNumber));
+    }
+
+    private static int findColumn(TableModel model, String name) {
+        for (int i = 0; i < model.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(model.getColumnName(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    /**
+     * One cached value. Loads are serialised per entry so a burst of screens opening together costs one query;
+     * the generation check stops a load that raced with an invalidation from being cached as fresh.
+     */
+    private static final class Entry<T> {
+        private final long ttlNanos;
+        private final Loader<T> loader;
+        private final AtomicLong generation = new AtomicLong();
+        private volatile T value;
+        private volatile long loadedAt;
+
+        Entry(long ttlNanos, Loader<T> loader) {
+            this.ttlNanos = ttlNanos;
+            this.loader = loader;
+        }
+
+        T get() throws SQLException {
+            T current = value;
+            if (current != null && System.nanoTime() - loadedAt < ttlNanos) {
+                HITS.incrementAndGet();
+                return current;
+            }
+            synchronized (this) {
+                current = value;
+                if (current != null && System.nanoTime() - loadedAt < ttlNanos) {
+                    HITS.incrementAndGet();
+                    return current;
+                }
+                MISSES.incrementAndGet();
+                long startedGeneration = generation.get();
+                T loaded = loader.load();
+                if (generation.get() == startedGeneration) {
+                    loadedAt = System.nanoTime();
+                    value = loaded;
+                }
+                return loaded;
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            value = null;
+            INVALIDATIONS.incrementAndGet();
+        }
+    }
+
+    private record Departments(TableModel table, List<String> names) {
+    }
+
+    private record Rooms(TableModel table, Map<String, RoomInfo> byNumber) {
+    }
+
+    record RoomInfo(String roomNumber, String availability, int price, String bedType) {
+    }
+
+    record CacheMetrics(long hits, long misses, long invalidations) {
+    }
+}
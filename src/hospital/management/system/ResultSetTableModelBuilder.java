@@ -1,43 +1,27 @@
 package hospital.management.system;
 
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.Vector;
 
 public final class ResultSetTableModelBuilder {
 
     private ResultSetTableModelBuilder() {
     }
 
-    public static DefaultTableModel buildTableModel(ResultSet resultSet) throws SQLException {
-        ResultSetMetaData metaData = resultSet.getMetaData();
-        int columnCount = metaData.getColumnCount();
-
-        Vector<String> columnNames = new Vector<>();
-        for (int column = 1; column <= columnCount; column++) {
-            String label = metaData.getColumnLabel(column);
-            if (label == null || label.isEmpty()) {
-                label = metaData.getColumnName(column);
+    public static TableModel query(String sql, Object... parameters) throws SQLException {
+        try (conn c = new conn(); PreparedStatement statement = c.connection.prepareStatement(sql)) {
+            for (int index = 0; index < parameters.length; index++) {
+                statement.setObject(index + 1, parameters[index]);
             }
-            columnNames.add(label);
-        }
-
-        Vector<Vector<Object>> rows = new Vector<>();
-        while (resultSet.next()) {
-            Vector<Object> currentRow = new Vector<>();
-            for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
-                currentRow.add(resultSet.getObject(columnIndex));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return buildTableModel(resultSet);
             }
-            rows.add(currentRow);
         }
+    }
 
-        return new DefaultTableModel(rows, columnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+    public static TableModel buildTableModel(ResultSet resultSet) throws SQLException {
+        return ColumnarTableModel.from(resultSet);
     }
 }
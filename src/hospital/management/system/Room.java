@@ -3,11 +3,13 @@ package hospital.management.system;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.sql.ResultSet;
+import java.util.Set;
 
 public class Room extends JFrame {
 
     private final JTable table;
+    private DataAccessExecutor.Task loadTask;
+    private final Runnable changeSubscription;
 
     public Room(){
         super("Room availability");
@@ -20,6 +22,7 @@ public class Room extends JFrame {
         table = UIComponents.styledTable();
         table.setAutoCreateRowSorter(true);
         loadRooms();
+        changeSubscription = ChangeEvents.subscribe(this::loadRooms, ChangeEvents.Topic.ROOMS);
 
         JPanel layout = UIComponents.pageContainer(
                 "Room availability",
@@ -34,12 +37,26 @@ public class Room extends JFrame {
     }
 
     private void loadRooms() {
-        try (conn c = new conn()) {
-            ResultSet resultSet = c.statement.executeQuery("select * from room");
-            table.setModel(ResultSetTableModelBuilder.buildTableModel(resultSet));
-        } catch (Exception ex) {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loadTask = DataAccessExecutor.submit(ReferenceDataCache::roomTable, model -> {
+            setCursor(Cursor.getDefaultCursor());
+            table.setModel(model);
+        }, ex -> {
+            setCursor(Cursor.getDefaultCursor());
             JOptionPane.showMessageDialog(this, "Unable to fetch room details: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    @Override
+    public void dispose() {
+        if (loadTask != null) {
+            loadTask.cancel();
         }
+        changeSubscription.run();
+        super.dispose();
     }
 
     private JPanel buildTablePanel() {
@@ -54,6 +71,7 @@ public class Room extends JFrame {
             if (e != null) {
                 e.getActionCommand();
             }
+            ReferenceDataCache.invalidate(Set.of(ChangeEvents.Topic.ROOMS));
             loadRooms();
         });
 
@@ -0,0 +1,92 @@
+package hospital.management.system;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Claims rooms for admissions without double booking. A claim is a conditional update that only flips a row
+ * still marked available; InnoDB serialises concurrent updates of the same row and re-checks the predicate
+ * for the loser, so exactly one desk sees an update count of one. When the requested room has just been taken
+ * the allocator moves on to another free room with the same bed type, nearest in price; it never switches the
+ * patient to a different kind of bed. The allocation carries the claimed room's price, read inside the same
+ * transaction, so the deposit always matches the room the patient actually gets.
+ *
+ * <p>The project targets MySQL 8, so {@code select ... for update skip locked} would also work. The conditional
+ * update is used because it claims in one statement: a skip-locked select still needs a second statement to mark
+ * the row occupied, and it passes over rooms that another desk has locked but may yet roll back.
+ */
+final class RoomAllocator {
+
+    private static final int CANDIDATE_BATCH = 8;
+    private static final int MAX_ROUNDS = 4;
+
+    private RoomAllocator() {
+    }
+
+    /**
+     * Marks {@code requestedRoom}, or the best available alternative, as occupied on the caller's connection.
+     * Must run inside the caller's transaction so the claim rolls back with the admission if anything later
+     * fails. Returns {@code null} when no room with the requested bed type is left.
+     */
+    static Allocation claim(conn c, String requestedRoom) throws SQLException {
+        if (tryClaim(c, requestedRoom)) {
+            return allocated(c, requestedRoom, false);
+        }
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            List<String> candidates = alternatives(c, requestedRoom);
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            for (String candidate : candidates) {
+                if (tryClaim(c, candidate)) {
+                    return allocated(c, candidate, true);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean tryClaim(conn c, String room) throws SQLException {
+        try (PreparedStatement update = c.connection.prepareStatement(
+                "update room set Availability = 'Occupied' where room_no = ? and Availability = 'Available'")) {
+            update.setString(1, room);
+            return update.executeUpdate() == 1;
+        }
+    }
+
+    /** Reads back the claimed room; our update holds its row lock, so the price cannot change underneath us. */
+    private static Allocation allocated(conn c, String room, boolean reassigned) throws SQLException {
+        try (PreparedStatement select = c.connection.prepareStatement("select Price, Bed_Type from room where room_no = ?")) {
+            select.setString(1, room);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Room " + room + " no longer exists");
+                }
+                return new Allocation(room, reassigned, rs.getInt("Price"), rs.getString("Bed_Type"));
+            }
+        }
+    }
+
+    private static List<String> alternatives(conn c, String requestedRoom) throws SQLException {
+        List<String> rooms = new ArrayList<>(CANDIDATE_BATCH);
+        try (PreparedStatement select = c.connection.prepareStatement(
+                "select r.room_no from room r join room wanted on wanted.room_no = ? and wanted.Bed_Type = r.Bed_Type "
+                        + "where r.Availability = 'Available' "
+                        + "order by abs(r.Price - wanted.Price), r.room_no "
+                        + "limit " + CANDIDATE_BATCH)) {
+            select.setString(1, requestedRoom);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    rooms.add(rs.getString(1));
+                }
+            }
+        }
+        return rooms;
+    }
+
+    record Allocation(String roomNumber, boolean reassigned, int price, String bedType) {
+    }
+}
@@ -0,0 +1,66 @@
+package hospital.management.system;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * What the connected database's schema supports, probed once per process with a single
+ * {@code information_schema} query. Screens choose their statements from it up front instead of trying the
+ * newest form and recovering from "unknown column" or "missing table" errors, so no request pays for a failed
+ * statement and none ever runs DDL. Code that changes the schema calls {@link #refresh()} afterwards, and
+ * {@link ChangeEvents} refreshes it when another desk records a migration.
+ * Blocks on MySQL the first time; call it off the event dispatch thread.
+ */
+final class SchemaCapabilities {
+
+    private static final String PROBE = "select "
+            + "exists(select 1 from information_schema.columns where table_schema = database() "
+            + "and table_name = 'Patient_Info' and column_name = 'Admission_Reason'), "
+            + "exists(select 1 from information_schema.columns where table_schema = database() "
+            + "and table_name = 'Patient_Info' and column_name = 'Admitted_At'), "
+            + "exists(select 1 from information_schema.statistics where table_schema = database() "
+            + "and table_name = 'Patient_Info' and index_name = 'ft_patient_search'), "
+            + "exists(select 1 from information_schema.tables where table_schema = database() "
+            + "and table_name = 'Patient_Discharge'), "
+            + "exists(select 1 from information_schema.tables where table_schema = database() "
+            + "and table_name = 'change_version')";
+
+    private static volatile Capabilities current;
+
+    private SchemaCapabilities() {
+    }
+
+    static Capabilities current() throws SQLException {
+        Capabilities capabilities = current;
+        if (capabilities != null) {
+            return capabilities;
+        }
+        synchronized (SchemaCapabilities.class) {
+            if (current == null) {
+                current = probe();
+            }
+            return current;
+        }
+    }
+
+    /** Probes again; called after a migration has changed the schema. */
+    static synchronized Capabilities refresh() throws SQLException {
+        current = probe();
+        return current;
+    }
+
+    private static Capabilities probe() throws SQLException {
+        try (conn c = new conn(); ResultSet rs = c.statement.executeQuery(PROBE)) {
+            rs.next();
+            return new Capabilities(rs.getBoolean(1), rs.getBoolean(2), rs.getBoolean(3), rs.getBoolean(4), rs.getBoolean(5));
+        }
+    }
+
+    record Capabilities(
+            boolean admissionReason,
+            boolean admittedAt,
+            boolean patientFullText,
+            boolean dischargeArchive,
+            boolean changeVersion) {
+    }
+}
@@ -0,0 +1,427 @@
+package hospital.management.system;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings an existing database up to the schema the code expects. {@code sql/schema.sql} only creates what is
+ * missing, so databases set up from an older copy of it lack later columns, indexes and tables; the numbered
+ * migrations below add them once, and {@code schema_migration} records which versions a database has. Every
+ * step tolerates finding its change already in place, so a database created from the current script just
+ * records the versions on first launch.
+ *
+ * <p>The runner starts with the application on a background thread. A named MySQL lock keeps two desks from
+ * migrating at once; the second one waits and then finds nothing left to do. DDL runs online where MySQL
+ * allows it and gives up quickly on a busy metadata lock instead of queueing the front desk behind it. Large
+ * data changes run in short chunked transactions, paused between chunks, and report their progress through
+ * {@link #status()} and the log. A migration that would block writes for long on a big table is deferred
+ * instead: it stays unrecorded, {@link #status()} lists it as pending, and it runs on a launch started with
+ * {@code -Dhms.applyDeferredMigrations=true}, meant for a quiet maintenance window. After the migrations, every
+ * launch also splits new months off the end of the discharge history, so check-outs always land in a partition
+ * of their own month.
+ *
+ * <p>Applying a migration bumps the schema row of {@code change_version}, so desks already running re-probe
+ * {@link SchemaCapabilities} within one watcher poll. Admissions saved by such a desk before it noticed still
+ * lack {@code Admitted_At}, so every launch also fills in admission times left empty since the backfill; rows
+ * whose legacy text cannot be parsed stay empty and are looked at again each time.
+ */
+final class SchemaMigrations {
+
+    private static final String LOCK_NAME = "hospital_management_system.schema_migration";
+    private static final int LOCK_WAIT_SECONDS = 600;
+    // An ALTER waiting for a metadata lock blocks every query queued after it, so it must give up fast.
+    private static final int DDL_LOCK_WAIT_SECONDS = 5;
+    private static final int ROW_LOCK_WAIT_SECONDS = 5;
+    private static final int MAX_LOCK_RETRIES = 10;
+    private static final long LOCK_RETRY_PAUSE_MS = 2_000;
+    private static final int CHUNK_SIZE = 500;
+    // Pauses at least as long as the chunk took, so a backfill never holds more than half of the server's time.
+    private static final long MIN_CHUNK_PAUSE_MS = 50;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = 5_000_000_000L;
+    private static final boolean APPLY_DEFERRED = Boolean.getBoolean("hms.applyDeferredMigrations");
+    // Building the full-text index holds off admissions until it finishes, and that grows with the table.
+    private static final long FULLTEXT_MAX_AUTOMATIC_ROWS = 20_000;
+    private static final String ADMISSION_TIME_BACKFILL = "Admitted_At backfill";
+    private static final String MISSING_ADMISSION_TIMES = "select count(*) from Patient_Info where Admitted_At is null";
+
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int MYSQL_DUPLICATE_COLUMN = 1060;
+    private static final int MYSQL_DUPLICATE_KEY_NAME = 1061;
+    private static final int MYSQL_ALGORITHM_NOT_SUPPORTED = 1845;
+
+    private static final YearMonth FIRST_DISCHARGE_PARTITION = YearMonth.of(2025, 1);
+    private static final YearMonth LAST_DISCHARGE_PARTITION = YearMonth.of(2027, 12);
+    private static final int DISCHARGE_MONTHS_AHEAD = 12;
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Patient_Info.Admission_Reason",
+                    c -> addColumn(c, "Patient_Info", "Admission_Reason", "text null after Deposite")),
+            new Migration(2, "Patient_Info lookup indexes", c -> {
+                addIndex(c, "Patient_Info", "idx_patient_name", "Name");
+                addIndex(c, "Patient_Info", "idx_patient_disease", "Disease");
+                addIndex(c, "Patient_Info", "idx_patient_room", "Room_Number");
+            }),
+            new Migration(3, "Patient_Info full-text search index", SchemaMigrations::addPatientFullTextIndex,
+                    c -> estimatedRows(c, "Patient_Info") > FULLTEXT_MAX_AUTOMATIC_ROWS),
+            new Migration(4, "change_version table", c -> {
+                ddl(c, "create table if not exists change_version (id tinyint not null, "
+                        + "version bigint not null default 0, primary key (id))");
+                c.statement.executeUpdate("insert ignore into change_version (id, version) values (1, 0)");
+            }),
+            new Migration(5, "Patient_Discharge history table", c -> ddl(c, dischargeTableDefinition())),
+            new Migration(6, "Patient_Info.Admitted_At", c -> {
+                addColumn(c, "Patient_Info", "Admitted_At", "datetime null after Time");
+                addIndex(c, "Patient_Info", "idx_patient_admitted_at", "Admitted_At");
+            }),
+            new Migration(7, "Patient_Info.Admitted_At backfill",
+                    c -> backfill(c, ADMISSION_TIME_BACKFILL, MISSING_ADMISSION_TIMES, AdmissionTimes::backfillChunk))
+    );
+
+    private static volatile Status status = new Status(false, null, 0, 0, List.of());
+    private static volatile List<String> deferred = List.of();
+
+    private SchemaMigrations() {
+    }
+
+    /** Applies pending migrations off the event dispatch thread; called when the login window opens. */
+    static void runInBackground() {
+        Thread runner = new Thread(() -> {
+            try {
+                run();
+            } catch (RuntimeException | SQLException ex) {
+                System.err.println("Schema migration stopped: " + ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                status = new Status(false, null, 0, 0, List.of());
+            }
+        }, "schema-migration");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+    /**
+     * What the runner is doing right now, plus the migrations left for a maintenance launch; rows are only
+     * counted for chunked backfills. Reception shows it under the clock.
+     */
+    static Status status() {
+        Status current = status;
+        return new Status(current.running(), current.migration(), current.rowsDone(), current.rowsTotal(), deferred);
+    }
+
+    private static void run() throws SQLException, InterruptedException {
+        try (conn c = new conn()) {
+            if (!acquireLock(c)) {
+                System.err.println("Schema migration skipped: another desk has held the migration lock for "
+                        + LOCK_WAIT_SECONDS + " s");
+                return;
+            }
+            try {
+                c.statement.execute("set session lock_wait_timeout = " + DDL_LOCK_WAIT_SECONDS);
+                c.statement.execute("set session innodb_lock_wait_timeout = " + ROW_LOCK_WAIT_SECONDS);
+                applyPending(c);
+                if (SchemaCapabilities.current().admittedAt()) {
+                    fillMissingAdmissionTimes(c);
+                }
+                if (SchemaCapabilities.current().dischargeArchive()) {
+                    extendDischargePartitions(c);
+                }
+            } finally {
+                c.statement.execute("set session lock_wait_timeout = default");
+                c.statement.execute("set session innodb_lock_wait_timeout = default");
+                releaseLock(c);
+            }
+        } finally {
+            SchemaCapabilities.refresh();
+        }
+    }
+
+    private static void applyPending(conn c) throws SQLException, InterruptedException {
+        c.statement.executeUpdate("create table if not exists schema_migration (version int not null, "
+                + "description varchar(200) not null, applied_at datetime not null default current_timestamp, "
+                + "primary key (version))");
+        Set<Integer> applied = new HashSet<>();
+        try (ResultSet rs = c.statement.executeQuery("select version from schema_migration")) {
+            while (rs.next()) {
+                applied.add(rs.getInt(1));
+            }
+        }
+        List<String> skipped = new ArrayList<>();
+        boolean changed = false;
+        for (Migration migration : MIGRATIONS) {
+            if (applied.contains(migration.version())) {
+                continue;
+            }
+            if (!APPLY_DEFERRED && migration.deferIf().test(c)) {
+                skipped.add(migration.description());
+                System.err.println("Schema migration " + migration.version() + " (" + migration.description()
+                        + ") deferred: it blocks writes on a table this size; start with -Dhms.applyDeferredMigrations=true "
+                        + "in a quiet period to apply it");
+                continue;
+            }
+            status = new Status(true, migration.description(), 0, 0, List.of());
+            long started = System.nanoTime();
+            migration.step().apply(c);
+            try (PreparedStatement record = c.connection.prepareStatement(
+                    "insert into schema_migration (version, description) values (?, ?)")) {
+                record.setInt(1, migration.version());
+                record.setString(2, migration.description());
+                record.executeUpdate();
+            }
+            SchemaCapabilities.refresh();
+            changed = true;
+            System.err.println("Schema migration " + migration.version() + " (" + migration.description() + ") applied in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms");
+        }
+        deferred = List.copyOf(skipped);
+        if (changed) {
+            ChangeEvents.bumpSchemaVersion(c);
+        }
+    }
+
+    /**
+     * Catches admissions saved without {@code Admitted_At} by a desk that had not yet seen migration 6; the
+     * indexed existence check keeps this to a single lookup on the usual launch where there are none.
+     */
+    private static void fillMissingAdmissionTimes(conn c) throws SQLException, InterruptedException {
+        try (ResultSet rs = c.statement.executeQuery(
+                "select exists(select 1 from Patient_Info where Admitted_At is null)")) {
+            if (!rs.next() || !rs.getBoolean(1)) {
+                return;
+            }
+        }
+        backfill(c, ADMISSION_TIME_BACKFILL, MISSING_ADMISSION_TIMES, AdmissionTimes::backfillChunk);
+    }
+
+    /** InnoDB's estimate from table statistics; cheap, and close enough to decide whether DDL may block for long. */
+    private static long estimatedRows(conn c, String table) throws SQLException {
+        try (PreparedStatement select = c.connection.prepareStatement("select table_rows from information_schema.tables "
+                + "where table_schema = database() and table_name = ?")) {
+            select.setString(1, table);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static boolean acquireLock(conn c) throws SQLException {
+        try (PreparedStatement lock = c.connection.prepareStatement("select get_lock(?, ?)")) {
+            lock.setString(1, LOCK_NAME);
+            lock.setInt(2, LOCK_WAIT_SECONDS);
+            try (ResultSet rs = lock.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(conn c) throws SQLException {
+        try (PreparedStatement unlock = c.connection.prepareStatement("select release_lock(?)")) {
+            unlock.setString(1, LOCK_NAME);
+            unlock.executeQuery().close();
+        }
+    }
+
+    /** Instant metadata change on MySQL 8.0.12+; older servers rebuild in place without blocking writes. */
+    private static void addColumn(conn c, String table, String column, String definition)
+            throws SQLException, InterruptedException {
+        String alter = "alter table " + table + " add column " + column + " " + definition;
+        try {
+            try {
+                ddl(c, alter + ", algorithm=instant");
+            } catch (SQLException ex) {
+                if (ex.getErrorCode() != MYSQL_ALGORITHM_NOT_SUPPORTED) {
+                    throw ex;
+                }
+                ddl(c, alter + ", algorithm=inplace, lock=none");
+            }
+        } catch (SQLException ex) {
+            if (ex.getErrorCode() != MYSQL_DUPLICATE_COLUMN) {
+                throw ex;
+            }
+        }
+    }
+
+    private static void addIndex(conn c, String table, String index, String columns)
+            throws SQLException, InterruptedException {
+        try {
+            ddl(c, "alter table " + table + " add index " + index + " (" + columns + "), algorithm=inplace, lock=none");
+        } catch (SQLException ex) {
+            if (ex.getErrorCode() != MYSQL_DUPLICATE_KEY_NAME) {
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * InnoDB cannot build a full-text index with concurrent writes, so admissions wait while it builds; reads
+     * carry on. That is why it is deferred on large tables. Until it exists the directory search falls back to
+     * prefix matching.
+     */
+    private static void addPatientFullTextIndex(conn c) throws SQLException, InterruptedException {
+        try {
+            ddl(c, "alter table Patient_Info add fulltext index ft_patient_search (Name, Disease), algorithm=inplace, lock=shared");
+        } catch (SQLException ex) {
+            if (ex.getErrorCode() != MYSQL_DUPLICATE_KEY_NAME) {
+                throw ex;
+            }
+        }
+    }
+
+    /** Runs one DDL statement, retrying a few times when it loses the race for the table's metadata lock. */
+    private static void ddl(conn c, String statement) throws SQLException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                c.statement.executeUpdate(statement);
+                return;
+            } catch (SQLException ex) {
+                if (ex.getErrorCode() != MYSQL_LOCK_WAIT_TIMEOUT || attempt == MAX_LOCK_RETRIES) {
+                    throw ex;
+                }
+                Thread.sleep(LOCK_RETRY_PAUSE_MS);
+            }
+        }
+    }
+
+    /**
+     * Feeds {@code work} chunks of {@link #CHUNK_SIZE} rows, each committed on its own, until a chunk comes back
+     * short. {@code countSql} estimates the rows left, for progress only.
+     */
+    private static void backfill(conn c, String label, String countSql, ChunkWork work)
+            throws SQLException, InterruptedException {
+        long total;
+        try (ResultSet rs = c.statement.executeQuery(countSql)) {
+            total = rs.next() ? rs.getLong(1) : 0;
+        }
+        String cursor = "";
+        long scanned = 0;
+        long changed = 0;
+        long lastLogged = System.nanoTime();
+        c.connection.setAutoCommit(false);
+        try {
+            Chunk chunk;
+            do {
+                long started = System.nanoTime();
+                chunk = runChunk(c, work, cursor);
+                cursor = chunk.cursor();
+                scanned += chunk.scanned();
+                changed += chunk.changed();
+                status = new Status(true, label, scanned, Math.max(total, scanned), List.of());
+                long now = System.nanoTime();
+                if (now - lastLogged >= PROGRESS_LOG_INTERVAL_NANOS) {
+                    lastLogged = now;
+                    System.err.println(label + ": " + scanned + " of " + Math.max(total, scanned) + " rows");
+                }
+                if (chunk.scanned() == CHUNK_SIZE) {
+                    Thread.sleep(Math.max(MIN_CHUNK_PAUSE_MS, (now - started) / 1_000_000));
+                }
+            } while (chunk.scanned() == CHUNK_SIZE);
+        } finally {
+            c.connection.setAutoCommit(true);
+        }
+        if (scanned > 0) {
+            System.err.println(label + ": updated " + changed + " of " + scanned + " rows");
+        }
+    }
+
+    /** Runs and commits one chunk, retrying it when a front-desk transaction holds one of its rows too long. */
+    private static Chunk runChunk(conn c, ChunkWork work, String cursor) throws SQLException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Chunk chunk = work.apply(c, cursor, CHUNK_SIZE);
+                c.connection.commit();
+                return chunk;
+            } catch (SQLException ex) {
+                c.connection.rollback();
+                if (ex.getErrorCode() != MYSQL_LOCK_WAIT_TIMEOUT || attempt == MAX_LOCK_RETRIES) {
+                    throw ex;
+                }
+                Thread.sleep(LOCK_RETRY_PAUSE_MS);
+            }
+        }
+    }
+
+    /**
+     * Makes sure {@code Patient_Discharge} has a partition for every month up to {@link #DISCHARGE_MONTHS_AHEAD}
+     * months from now, by splitting the missing months off {@code p_future}. The catch-all normally holds no
+     * rows yet, so the split only rewrites an empty partition and the rest of the table is left alone.
+     */
+    private static void extendDischargePartitions(conn c) throws SQLException, InterruptedException {
+        YearMonth lastCovered = null;
+        try (ResultSet rs = c.statement.executeQuery("select partition_description from information_schema.partitions "
+                + "where table_schema = database() and table_name = 'Patient_Discharge' and partition_description <> 'MAXVALUE'")) {
+            while (rs.next()) {
+                // Bounds read like '2028-01-01' or '2028-01-01 00:00:00'; the month before a bound is covered.
+                YearMonth covered = YearMonth.parse(rs.getString(1).replace("'", "").substring(0, 7)).minusMonths(1);
+                if (lastCovered == null || covered.isAfter(lastCovered)) {
+                    lastCovered = covered;
+                }
+            }
+        }
+        YearMonth wanted = YearMonth.now().plusMonths(DISCHARGE_MONTHS_AHEAD);
+        if (lastCovered == null || !lastCovered.isBefore(wanted)) {
+            return;
+        }
+        StringBuilder partitions = new StringBuilder("alter table Patient_Discharge reorganize partition p_future into (");
+        appendMonthlyPartitions(partitions, lastCovered.plusMonths(1), wanted);
+        ddl(c, partitions.append("partition p_future values less than (maxvalue))").toString());
+        System.err.println("Patient_Discharge partitions extended to " + wanted);
+    }
+
+    /** Same layout as {@code sql/schema.sql}: one partition per check-out month, then a catch-all. */
+    private static String dischargeTableDefinition() {
+        StringBuilder definition = new StringBuilder("create table if not exists Patient_Discharge ("
+                + "discharge_id bigint not null auto_increment, ID varchar(100) not null, number varchar(100) not null, "
+                + "Name varchar(100) not null, Gender enum('Male', 'Female', 'Other') not null, Disease varchar(100), "
+                + "Room_Number int not null, Bed_Type varchar(50), Checked_In datetime not null, "
+                + "Checked_Out datetime not null, Stay_Days int not null, Room_Rate int not null, "
+                + "Room_Charge int not null, Deposite int not null, Balance int not null, "
+                + "primary key (discharge_id, Checked_Out), index idx_discharge_checked_out (Checked_Out), "
+                + "index idx_discharge_patient (number)) partition by range columns (Checked_Out) (");
+        appendMonthlyPartitions(definition, FIRST_DISCHARGE_PARTITION, LAST_DISCHARGE_PARTITION);
+        return definition.append("partition p_future values less than (maxvalue))").toString();
+    }
+
+    private static void appendMonthlyPartitions(StringBuilder sql, YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            sql.append(String.format("partition p%d_%02d values less than ('%s-01'), ",
+                    month.getYear(), month.getMonthValue(), month.plusMonths(1)));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(conn c) throws SQLException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean test(conn c) throws SQLException;
+    }
+
+    /** One chunk of a backfill: works through up to {@code limit} rows after {@code cursor}, without committing. */
+    @FunctionalInterface
+    interface ChunkWork {
+        Chunk apply(conn c, String cursor, int limit) throws SQLException;
+    }
+
+    /** Rows a chunk looked at, how many of them it changed, and the key to resume after. */
+    record Chunk(int scanned, int changed, String cursor) {
+    }
+
+    /** {@code deferIf} holds a migration back for a maintenance launch when it is true. */
+    private record Migration(int version, String description, Step step, Condition deferIf) {
+        Migration(int version, String description, Step step) {
+            this(version, description, step, c -> false);
+        }
+    }
+
+    /** {@code deferred} names the migrations waiting for a launch with {@code hms.applyDeferredMigrations}. */
+    record Status(boolean running, String migration, long rowsDone, long rowsTotal, List<String> deferred) {
+    }
+}
@@ -2,14 +2,16 @@ package hospital.management.system;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import java.util.regex.Pattern;
 
 public class SearchRoom extends JFrame {
 
     private final JComboBox<String> statusFilter;
     private final JTable table;
+    private DataAccessExecutor.Task loadTask;
 
     public SearchRoom(){
         super("Search rooms");
@@ -38,11 +40,7 @@ public class SearchRoom extends JFrame {
     }
 
     private void loadAllRooms() {
-        try (conn c = new conn(); ResultSet resultSet = c.statement.executeQuery("select * from room")) {
-            table.setModel(ResultSetTableModelBuilder.buildTableModel(resultSet));
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Unable to load rooms: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        loadRooms(null, "Unable to load rooms: ");
     }
 
     private void applyFilter() {
@@ -51,15 +49,47 @@ public class SearchRoom extends JFrame {
             loadAllRooms();
             return;
         }
-        String query = "select * from room where Availability = ?";
-        try (conn c = new conn(); PreparedStatement ps = c.connection.prepareStatement(query)) {
-            ps.setString(1, selected);
-            try (ResultSet resultSet = ps.executeQuery()) {
-                table.setModel(ResultSetTableModelBuilder.buildTableModel(resultSet));
+        loadRooms(selected, "Unable to filter rooms: ");
+    }
+
+    /** Reads the shared room table and narrows it locally, so switching status does not go back to MySQL. */
+    private void loadRooms(String availability, String errorPrefix) {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        loadTask = DataAccessExecutor.submit(ReferenceDataCache::roomTable, model -> {
+            setCursor(Cursor.getDefaultCursor());
+            // The cache hands back the same model for a while, and setModel ignores an unchanged model, so the
+            // sorter keeps its old filter unless it is set on every load.
+            table.setModel(model);
+            int column = findColumn(model, "Availability");
+            if (table.getRowSorter() instanceof TableRowSorter<?> sorter) {
+                sorter.setRowFilter(availability == null || column < 0
+                        ? null
+                        : RowFilter.regexFilter("^" + Pattern.quote(availability) + "$", column));
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Unable to filter rooms: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }, ex -> {
+            setCursor(Cursor.getDefaultCursor());
+            JOptionPane.showMessageDialog(this, errorPrefix + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private static int findColumn(TableModel model, String name) {
+        for (int i = 0; i < model.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(model.getColumnName(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void dispose() {
+        if (loadTask != null) {
+            loadTask.cancel();
         }
+        super.dispose();
     }
 
     public static void main(String[] args) {
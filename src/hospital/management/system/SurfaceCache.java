@@ -0,0 +1,114 @@
+package hospital.management.system;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered backgrounds for rounded panels and cards. An anti-aliased round rectangle filled with a gradient
+ * costs far more than copying an image, and the same few surfaces are repainted at the same sizes over and over,
+ * so each one is rendered once per size and device scale and then drawn with a single {@code drawImage}.
+ * Also holds a ramp of pre-derived composites so fades never allocate one per frame.
+ * Confined to the event dispatch thread.
+ */
+final class SurfaceCache {
+
+    static final int ALPHA_STEPS = 64;
+
+    private static final int MAX_CACHED_SURFACES = 32;
+
+    private static final AlphaComposite[] ALPHA_RAMP = new AlphaComposite[ALPHA_STEPS + 1];
+
+    private static final Map<Key, BufferedImage> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+            return size() > MAX_CACHED_SURFACES;
+        }
+    };
+
+    static {
+        for (int step = 0; step <= ALPHA_STEPS; step++) {
+            ALPHA_RAMP[step] = AlphaComposite.SrcOver.derive((float) step / ALPHA_STEPS);
+        }
+    }
+
+    private SurfaceCache() {
+    }
+
+    /**
+     * Something that can be painted into a cached image. Implementations are records holding everything the
+     * painting depends on, because the surface itself is part of the cache key.
+     */
+    @FunctionalInterface
+    interface Surface {
+        void paint(Graphics2D g2, int width, int height);
+    }
+
+    /** Source-over composite for {@code alpha}, rounded to the nearest of {@link #ALPHA_STEPS} levels. */
+    static AlphaComposite alpha(float alpha) {
+        float clamped = Math.max(0f, Math.min(1f, alpha));
+        return ALPHA_RAMP[Math.round(clamped * ALPHA_STEPS)];
+    }
+
+    static BufferedImage get(Surface surface, int width, int height, GraphicsConfiguration configuration) {
+        double scaleX = 1;
+        double scaleY = 1;
+        if (configuration != null) {
+            AffineTransform device = configuration.getDefaultTransform();
+            scaleX = device.getScaleX();
+            scaleY = device.getScaleY();
+        }
+        Key key = new Key(surface, width, height, scaleX, scaleY);
+        return CACHE.computeIfAbsent(key, k -> render(k, configuration));
+    }
+
+    private static BufferedImage render(Key key, GraphicsConfiguration configuration) {
+        int pixelWidth = Math.max(1, (int) Math.ceil(key.width() * key.scaleX()));
+        int pixelHeight = Math.max(1, (int) Math.ceil(key.height() * key.scaleY()));
+        BufferedImage image = configuration != null
+                ? configuration.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2 = image.createGraphics();
+        g2.scale((double) pixelWidth / key.width(), (double) pixelHeight / key.height());
+        key.surface().paint(g2, key.width(), key.height());
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * The image one component last drew for a surface. Repaints at an unchanged size on the same screen reuse it
+     * without building a cache key, which keeps animation frames free of allocation.
+     */
+    static final class Slot {
+        private final Surface surface;
+        private BufferedImage image;
+        private int width;
+        private int height;
+        private GraphicsConfiguration configuration;
+
+        Slot(Surface surface) {
+            this.surface = surface;
+        }
+
+        void paint(Graphics2D g, int width, int height, GraphicsConfiguration configuration) {
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+            if (image == null || width != this.width || height != this.height || configuration != this.configuration) {
+                image = get(surface, width, height, configuration);
+                this.width = width;
+                this.height = height;
+                this.configuration = configuration;
+            }
+            g.drawImage(image, 0, 0, width, height, null);
+        }
+    }
+
+    private record Key(Surface surface, int width, int height, double scaleX, double scaleY) {
+    }
+}
@@ -4,13 +4,30 @@ import javax.swing.*;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 
 public final class UIComponents {
 
+    private static final int TOAST_DURATION_MS = 6_000;
+    private static final int TYPEAHEAD_LIMIT = 12;
+    private static final int TYPEAHEAD_VISIBLE_ROWS = 8;
+    private static final int TYPEAHEAD_DEBOUNCE_MS = 200;
+    private static final int TYPEAHEAD_CACHED_QUERIES = 32;
+
     private UIComponents() {
     }
 
@@ -130,6 +147,7 @@ public final class UIComponents {
             }
         };
         table.setDefaultRenderer(Object.class, stripedRenderer);
+        table.setDefaultRenderer(Number.class, stripedRenderer);
         return table;
     }
 
@@ -277,4 +295,262 @@ public final class UIComponents {
         gbc.anchor = GridBagConstraints.WEST;
         panel.add(field, gbc);
     }
+
+    /**
+     * Shows a short notice in the bottom-right corner of {@code owner} that closes itself after a few seconds
+     * or when clicked, without taking focus from whatever the operator is typing.
+     */
+    public static void showToast(Window owner, String message) {
+        JWindow toast = new JWindow(owner);
+        toast.setFocusableWindowState(false);
+
+        JLabel label = new JLabel("<html>" + escapeHtml(message).replace("\n", "<br>") + "</html>");
+        label.setFont(UITheme.mediumFont(13f));
+        label.setForeground(UITheme.TEXT_PRIMARY);
+
+        JPanel content = new JPanel(new BorderLayout());
+        content.setBackground(UITheme.SURFACE);
+        content.setBorder(new CompoundBorder(new LineBorder(UITheme.BORDER, 1, true), new EmptyBorder(12, 16, 12, 16)));
+        content.add(label, BorderLayout.CENTER);
+        toast.setContentPane(content);
+        toast.pack();
+
+        Rectangle bounds = owner != null && owner.isShowing()
+                ? owner.getBounds()
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        toast.setLocation(bounds.x + bounds.width - toast.getWidth() - 24, bounds.y + bounds.height - toast.getHeight() - 24);
+
+        Timer timer = new Timer(TOAST_DURATION_MS, event -> toast.dispose());
+        timer.setRepeats(false);
+        content.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                timer.stop();
+                toast.dispose();
+            }
+        });
+        toast.setVisible(true);
+        timer.start();
+    }
+
+    /**
+     * Text field that asks {@code source} for the best few matches as the operator types and offers them in a
+     * popup; {@code onSelection} runs when a match is chosen and again when editing the text drops it.
+     */
+    static <T> Typeahead<T> typeahead(Typeahead.Source<T> source, Function<T, String> label, Runnable onSelection) {
+        return new Typeahead<>(source, label, onSelection);
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Autocomplete field over a data source too large to load into a combo box. Each query asks for at most
+     * {@code TYPEAHEAD_LIMIT} matches on the data access executor, once typing pauses; a newer keystroke cancels
+     * the query still in flight, statement included, so only the latest text is ever answered. Recent answers
+     * are kept per field, so deleting back to an earlier prefix shows its matches without a round trip; call
+     * {@link #forgetRecentQueries()} when the underlying data changes.
+     */
+    static final class Typeahead<T> extends JTextField {
+
+        /** Finds up to {@code limit} matches for {@code query}; runs off the event dispatch thread. */
+        @FunctionalInterface
+        interface Source<T> {
+            List<T> find(String query, int limit, DataAccessExecutor.Task task) throws Exception;
+        }
+
+        private final Source<T> source;
+        private final Function<T, String> label;
+        private final Runnable onSelection;
+        private final DefaultListModel<T> suggestions = new DefaultListModel<>();
+        private final JList<T> suggestionList = new JList<>(suggestions);
+        private final JPopupMenu popup = new JPopupMenu();
+        private final Timer searchDebounce;
+        private final Map<String, List<T>> recentQueries = new LinkedHashMap<>(TYPEAHEAD_CACHED_QUERIES * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<T>> eldest) {
+                return size() > TYPEAHEAD_CACHED_QUERIES;
+            }
+        };
+        private DataAccessExecutor.Task searchTask;
+        private T selected;
+        private boolean showingSelection;
+
+        private Typeahead(Source<T> source, Function<T, String> label, Runnable onSelection) {
+            super(20);
+            this.source = source;
+            this.label = label;
+            this.onSelection = onSelection;
+            setFont(UITheme.regularFont(16f));
+            setForeground(UITheme.TEXT_PRIMARY);
+            setBackground(UITheme.SURFACE);
+            setBorder(new CompoundBorder(new LineBorder(UITheme.BORDER, 1, true), new EmptyBorder(10, 14, 10, 14)));
+
+            suggestionList.setFont(UITheme.regularFont(15f));
+            suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            suggestionList.setSelectionBackground(UITheme.PRIMARY_LIGHT);
+            suggestionList.setSelectionForeground(UITheme.TEXT_PRIMARY);
+            suggestionList.setFocusable(false);
+            suggestionList.setCellRenderer(new DefaultListCellRenderer() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                    super.getListCellRendererComponent(list, label.apply((T) value), index, isSelected, false);
+                    setBorder(new EmptyBorder(6, 12, 6, 12));
+                    return this;
+                }
+            });
+            suggestionList.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    choose(suggestionList.getSelectedValue());
+                }
+            });
+            popup.setFocusable(false);
+            popup.setBorder(new LineBorder(UITheme.BORDER));
+            popup.add(smoothScrollPane(suggestionList));
+
+            searchDebounce = new Timer(TYPEAHEAD_DEBOUNCE_MS, e -> search());
+            searchDebounce.setRepeats(false);
+            getDocument().addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent e) {
+                    edited();
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent e) {
+                    edited();
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent e) {
+                }
+            });
+            addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    switch (e.getKeyCode()) {
+                        case KeyEvent.VK_DOWN -> moveSelection(1);
+                        case KeyEvent.VK_UP -> moveSelection(-1);
+                        case KeyEvent.VK_ENTER -> {
+                            // Hidden suggestions may belong to an older query; never pick one blind.
+                            if (popup.isVisible()) {
+                                choose(suggestionList.getSelectedValue());
+                            }
+                        }
+                        case KeyEvent.VK_ESCAPE -> popup.setVisible(false);
+                        default -> {
+                            return;
+                        }
+                    }
+                    e.consume();
+                }
+            });
+        }
+
+        /** The chosen match, or {@code null} while the operator is still typing. */
+        T selected() {
+            return selected;
+        }
+
+        void clear() {
+            selected = null;
+            showText("");
+        }
+
+        /** Forgets cached answers; the next keystroke goes back to the source. */
+        void forgetRecentQueries() {
+            recentQueries.clear();
+        }
+
+        /** Stops pending work; call when the owning window is disposed. */
+        void close() {
+            searchDebounce.stop();
+            if (searchTask != null) {
+                searchTask.cancel();
+            }
+            popup.setVisible(false);
+        }
+
+        private void edited() {
+            if (showingSelection) {
+                return;
+            }
+            if (selected != null) {
+                selected = null;
+                onSelection.run();
+            }
+            if (searchTask != null) {
+                searchTask.cancel();
+            }
+            suggestions.clear();
+            popup.setVisible(false);
+            List<T> cached = recentQueries.get(cacheKey(getText()));
+            if (cached != null) {
+                searchDebounce.stop();
+                showSuggestions(cached);
+            } else {
+                searchDebounce.restart();
+            }
+        }
+
+        private void search() {
+            if (searchTask != null) {
+                searchTask.cancel();
+            }
+            String query = getText();
+            searchTask = DataAccessExecutor.submitCancellable(task -> source.find(query, TYPEAHEAD_LIMIT, task), matches -> {
+                recentQueries.put(cacheKey(query), List.copyOf(matches));
+                showSuggestions(matches);
+            }, ex -> System.err.println("Typeahead lookup failed: " + ex.getMessage()));
+        }
+
+        private static String cacheKey(String query) {
+            return query.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private void showSuggestions(List<T> matches) {
+            suggestions.clear();
+            suggestions.addAll(matches);
+            if (matches.isEmpty() || !isShowing()) {
+                popup.setVisible(false);
+                return;
+            }
+            suggestionList.setSelectedIndex(0);
+            suggestionList.setVisibleRowCount(Math.min(TYPEAHEAD_VISIBLE_ROWS, matches.size()));
+            popup.setPopupSize(getWidth(), popup.getPreferredSize().height);
+            popup.show(this, 0, getHeight());
+        }
+
+        private void moveSelection(int delta) {
+            if (!popup.isVisible()) {
+                edited();
+                return;
+            }
+            int index = Math.max(0, Math.min(suggestions.size() - 1, suggestionList.getSelectedIndex() + delta));
+            suggestionList.setSelectedIndex(index);
+            suggestionList.ensureIndexIsVisible(index);
+        }
+
+        private void choose(T match) {
+            popup.setVisible(false);
+            if (match == null) {
+                return;
+            }
+            selected = match;
+            showText(label.apply(match));
+            onSelection.run();
+        }
+
+        private void showText(String text) {
+            showingSelection = true;
+            try {
+                setText(text);
+            } finally {
+                showingSelection = false;
+            }
+        }
+    }
 }
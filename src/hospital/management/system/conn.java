@@ -6,7 +6,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Properties;
@@ -17,24 +16,24 @@ public class conn implements AutoCloseable {
     Statement statement;
 
     public conn() {
-        Properties properties = loadProperties();
-        String url = properties.getProperty("db.url");
-        String user = properties.getProperty("db.user");
-        String password = properties.getProperty("db.password");
+        DataAccessExecutor.checkNotOnEventDispatchThread();
+        ConnectionPool pool = ConnectionPool.shared();
+        try {
+            connection = pool.borrow();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to connect to the database. Verify db.properties and MySQL availability.", e);
+        }
 
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            connection = DriverManager.getConnection(url, user, password);
             statement = connection.createStatement();
         } catch (SQLException e) {
+            pool.release(connection);
+            connection = null;
             throw new IllegalStateException("Unable to connect to the database. Verify db.properties and MySQL availability.", e);
-        } catch (ClassNotFoundException e) {
-            throw new IllegalStateException("MySQL JDBC driver not found on the classpath.", e);
         }
-
     }
 
-    private Properties loadProperties() {
+    static Properties loadProperties() {
         Properties defaults = new Properties();
         defaults.setProperty("db.url", "jdbc:mysql://localhost:3306/hospital_management_system");
         defaults.setProperty("db.user", "root");
@@ -51,7 +50,7 @@ public class conn implements AutoCloseable {
         return properties;
     }
 
-    private InputStream locateConfigStream() throws IOException {
+    private static InputStream locateConfigStream() throws IOException {
         Path externalFile = Paths.get("db.properties");
         if (Files.exists(externalFile)) {
             return Files.newInputStream(externalFile);
@@ -68,11 +67,9 @@ public class conn implements AutoCloseable {
         } catch (SQLException ignored) {
         }
 
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-        } catch (SQLException ignored) {
+        if (connection != null) {
+            ConnectionPool.shared().release(connection);
+            connection = null;
         }
     }
 
@@ -3,26 +3,29 @@ package hospital.management.system;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Locale;
-import java.util.Objects;
 
 public class patient_discharge extends JFrame {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm", Locale.ENGLISH);
 
-    private final JComboBox<String> patientSelector;
+    private final UIComponents.Typeahead<PatientLookup.Match> patientSelector;
     private final JLabel roomValue;
     private final JLabel inTimeValue;
     private final JLabel outTimeValue;
     private PatientSummary currentSummary;
+    private JButton dischargeButton;
+    private DataAccessExecutor.Task summaryTask;
+    private Runnable patientsSubscription;
     private LocalDateTime latestCheckoutTime;
 
     public patient_discharge() {
@@ -33,7 +36,8 @@ public class patient_discharge extends JFrame {
         setLocationRelativeTo(null);
         setLayout(new BorderLayout());
         getContentPane().setBackground(UITheme.BACKGROUND);
-        patientSelector = UIComponents.comboBox();
+        patientSelector = UIComponents.typeahead(PatientLookup::search, PatientLookup.Match::label, this::loadSelectionDetails);
+        patientSelector.setToolTipText("Type a patient name or number");
 
         roomValue = UIComponents.subtitle("—");
         inTimeValue = UIComponents.subtitle("—");
@@ -49,15 +53,7 @@ public class patient_discharge extends JFrame {
 
         add(layout, BorderLayout.CENTER);
 
-        populatePatients();
-        loadSelectionDetails();
-
-        patientSelector.addActionListener(event -> {
-            if (event != null) {
-                event.getActionCommand();
-            }
-            loadSelectionDetails();
-        });
+        patientsSubscription = ChangeEvents.subscribe(patientSelector::forgetRecentQueries, ChangeEvents.Topic.PATIENTS);
 
         setVisible(true);
     }
@@ -77,7 +73,7 @@ public class patient_discharge extends JFrame {
         gbc.weightx = 0;
         gbc.gridwidth = 1;
 
-        addRow(grid, gbc, 0, "Patient ID", patientSelector);
+        addRow(grid, gbc, 0, "Patient", patientSelector);
         addRow(grid, gbc, 1, "Room number", roomValue);
         addRow(grid, gbc, 2, "Check-in", inTimeValue);
         addRow(grid, gbc, 3, "Check-out", outTimeValue);
@@ -90,7 +86,7 @@ public class patient_discharge extends JFrame {
             loadSelectionDetails();
         });
 
-        JButton dischargeButton = UIComponents.primaryButton("Confirm discharge");
+        dischargeButton = UIComponents.primaryButton("Confirm discharge");
         dischargeButton.addActionListener(event -> {
             if (event != null) {
                 event.getActionCommand();
@@ -106,7 +102,10 @@ public class patient_discharge extends JFrame {
             dispose();
         });
 
-        JPanel actions = UIComponents.toolbar(12, cancelButton, refreshButton, dischargeButton);
+        JButton exportButton = UIComponents.secondaryButton("Export month");
+        exportButton.addActionListener(event -> exportStatements(exportButton));
+
+        JPanel actions = UIComponents.toolbar(12, cancelButton, refreshButton, exportButton, dischargeButton);
         actions.setBorder(new EmptyBorder(8, 0, 0, 0));
 
         container.add(grid, BorderLayout.CENTER);
@@ -115,6 +114,49 @@ public class patient_discharge extends JFrame {
         return container;
     }
 
+    private void exportStatements(JButton exportButton) {
+        String defaultMonth = YearMonth.now().minusMonths(1).toString();
+        Object input = JOptionPane.showInputDialog(this,
+                "Export all discharge receipts for the month (yyyy-MM):",
+                "Export statements",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                null,
+                defaultMonth);
+        if (input == null) {
+            return;
+        }
+        YearMonth month;
+        try {
+            month = YearMonth.parse(input.toString().trim());
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Enter the month as yyyy-MM, for example " + defaultMonth, "Invalid month", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        Path target = ReceiptQueue.RECEIPT_DIRECTORY.resolve("statements-" + month + ".zip");
+        exportButton.setEnabled(false);
+        exportButton.setText("Exporting…");
+        DischargeStatementExporter.exportInBackground(DischargeArchive.range(month.atDay(1), month.plusMonths(1).atDay(1)),
+                target, result -> {
+            exportButton.setEnabled(true);
+            exportButton.setText("Export month");
+            if (result.receipts() == 0) {
+                JOptionPane.showMessageDialog(this, "No discharges were recorded in " + month + ".", "Export statements", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            JOptionPane.showMessageDialog(this,
+                    String.format(Locale.ENGLISH, "Exported %d receipts (%.0f per second) to:%n%s",
+                            result.receipts(), result.receiptsPerSecond(), target.toAbsolutePath()),
+                    "Export statements",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }, ex -> {
+            exportButton.setEnabled(true);
+            exportButton.setText("Export month");
+            JOptionPane.showMessageDialog(this, "Unable to export statements: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
     private long calculateStayDays(LocalDateTime checkIn, LocalDateTime checkOut) {
         if (checkIn == null || checkOut == null) {
             return 1;
@@ -139,46 +181,25 @@ public class patient_discharge extends JFrame {
         panel.add(valueComponent, gbc);
     }
 
-    private void populatePatients() {
-        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
-        try (conn c = new conn(); ResultSet patients = c.statement.executeQuery("select number from Patient_Info order by number")) {
-            while (patients.next()) {
-                model.addElement(patients.getString("number"));
-            }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Unable to load patient list: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
-        patientSelector.setModel(model);
-        if (model.getSize() == 0) {
-            patientSelector.addItem("No active patients");
-            patientSelector.setEnabled(false);
-        }
-    }
-
     private void loadSelectionDetails() {
-        if (!patientSelector.isEnabled()) {
-            currentSummary = null;
-            resetSummaryDisplay();
-            return;
+        if (summaryTask != null) {
+            summaryTask.cancel();
         }
-
-        String selected = Objects.toString(patientSelector.getSelectedItem(), "");
-        if (selected.isBlank()) {
+        PatientLookup.Match selected = patientSelector.selected();
+        if (selected == null) {
             currentSummary = null;
             resetSummaryDisplay();
             return;
         }
 
-        PatientSummary summary;
-        try {
-            summary = fetchSummary(selected);
-        } catch (SQLException ex) {
+        summaryTask = DataAccessExecutor.submit(() -> fetchSummary(selected.number()), this::applySummary, ex -> {
             JOptionPane.showMessageDialog(this, "Unable to load patient details: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             currentSummary = null;
             resetSummaryDisplay();
-            return;
-        }
+        });
+    }
 
+    private void applySummary(PatientSummary summary) {
         currentSummary = summary;
         if (summary == null) {
             resetSummaryDisplay();
@@ -211,24 +232,22 @@ public class patient_discharge extends JFrame {
         return "—";
     }
 
-    private PatientSummary fetchSummary(String patientNumber) throws SQLException {
+    private static PatientSummary fetchSummary(String patientNumber) throws SQLException {
         try (conn c = new conn(); PreparedStatement ps = c.connection.prepareStatement(
-            "select p.number, p.Name, p.Room_Number, p.Time, p.Deposite, r.Price, r.Bed_Type " +
+            "select p.number, p.Name, p.Room_Number, p.Time, " + AdmissionTimes.selectColumn("p") + ", p.Deposite, r.Price, r.Bed_Type " +
             "from Patient_Info p join room r on r.room_no = p.Room_Number where p.number = ?")) {
             ps.setString(1, patientNumber);
             try (ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) {
                     return null;
                 }
-                String admissionRaw = rs.getString("Time");
-                LocalDateTime admittedAt = parseAdmissionTime(admissionRaw);
                 return new PatientSummary(
                     rs.getString("number"),
                     rs.getString("Name"),
                     rs.getString("Room_Number"),
                     rs.getString("Bed_Type"),
-                    admittedAt,
-                    admissionRaw,
+                    AdmissionTimes.read(rs),
+                    rs.getString("Time"),
                     rs.getInt("Deposite"),
                     rs.getInt("Price")
                 );
@@ -236,41 +255,28 @@ public class patient_discharge extends JFrame {
         }
     }
 
-    private LocalDateTime parseAdmissionTime(String raw) {
-        if (raw == null || raw.isBlank()) {
-            return null;
-        }
-        try {
-            return LocalDateTime.parse(raw, DATE_TIME_FORMATTER);
-        } catch (Exception ignored) {
-            return null;
-        }
-    }
-
     private void discharge() {
-        if (!patientSelector.isEnabled()) {
-            JOptionPane.showMessageDialog(this, "There are no patients to discharge", "Nothing to do", JOptionPane.INFORMATION_MESSAGE);
-            return;
-        }
-
-        String patientNumber = Objects.toString(patientSelector.getSelectedItem(), "");
+        PatientLookup.Match selected = patientSelector.selected();
         String room = roomValue.getText();
-        if (patientNumber.isBlank() || room.isBlank()) {
+        if (selected == null || room.isBlank()) {
             JOptionPane.showMessageDialog(this, "Select a patient before discharging", "Missing selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
+        String patientNumber = selected.number();
         PatientSummary summary = currentSummary;
         if (summary == null || !patientNumber.equals(summary.patientNumber())) {
-            try {
-                summary = fetchSummary(patientNumber);
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(this, "Unable to load patient details: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            currentSummary = summary;
+            DataAccessExecutor.submit(() -> fetchSummary(patientNumber), fetched -> {
+                currentSummary = fetched;
+                confirmDischarge(patientNumber, room, fetched);
+            }, ex -> JOptionPane.showMessageDialog(this, "Unable to load patient details: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+            return;
         }
 
+        confirmDischarge(patientNumber, room, summary);
+    }
+
+    private void confirmDischarge(String patientNumber, String room, PatientSummary summary) {
         if (summary == null) {
             JOptionPane.showMessageDialog(this, "Selected patient record is no longer available.", "Missing record", JOptionPane.WARNING_MESSAGE);
             return;
@@ -278,7 +284,7 @@ public class patient_discharge extends JFrame {
 
         refreshCheckoutTimestamp();
         LocalDateTime checkoutTime = latestCheckoutTime;
-        LocalDateTime checkInTime = summary.admittedAt() != null ? summary.admittedAt() : parseAdmissionTime(summary.admissionRaw());
+        LocalDateTime checkInTime = summary.admittedAt();
         if (checkInTime == null) {
             checkInTime = checkoutTime;
         }
@@ -310,54 +316,67 @@ public class patient_discharge extends JFrame {
             return;
         }
 
-        try (conn c = new conn()) {
-            c.connection.setAutoCommit(false);
-
-            try (PreparedStatement deletePatient = c.connection.prepareStatement("delete from Patient_Info where number = ?")) {
-                deletePatient.setString(1, patientNumber);
-                deletePatient.executeUpdate();
-            }
+        PdfReceiptWriter.DischargeDetails details = new PdfReceiptWriter.DischargeDetails(
+            summary.patientNumber(),
+            summary.patientName(),
+            summary.roomNumber(),
+            summary.bedType(),
+            checkInTime,
+            checkoutTime,
+            stayDays,
+            roomRate,
+            roomCharge,
+            deposit,
+            balance
+        );
 
-            try (PreparedStatement freeRoom = c.connection.prepareStatement("update room set Availability = 'Available' where room_no = ?")) {
-                freeRoom.setString(1, room);
-                freeRoom.executeUpdate();
-            }
+        dischargeButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        DataAccessExecutor.submit(() -> {
+            long version = releasePatient(details);
+            ReceiptQueue.enqueue(details);
+            return version;
+        }, version -> {
+            setCursor(Cursor.getDefaultCursor());
+            ChangeEvents.publish(version, ChangeEvents.Topic.PATIENTS, ChangeEvents.Topic.ROOMS);
+            completeDischarge();
+        }, ex -> {
+            setCursor(Cursor.getDefaultCursor());
+            dischargeButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Unable to discharge patient: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
 
+    private static long releasePatient(PdfReceiptWriter.DischargeDetails details) throws SQLException {
+        try (conn c = new conn()) {
+            c.connection.setAutoCommit(false);
+            DischargeArchive.discharge(c, details);
+            long version = ChangeEvents.bumpVersion(c);
             c.connection.commit();
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Unable to discharge patient: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            return;
+            return version;
         }
+    }
 
-        Path receiptPath = null;
-        try {
-            PdfReceiptWriter.DischargeDetails details = new PdfReceiptWriter.DischargeDetails(
-                summary.patientNumber(),
-                summary.patientName(),
-                summary.roomNumber(),
-                summary.bedType(),
-                checkInTime,
-                checkoutTime,
-                stayDays,
-                roomRate,
-                roomCharge,
-                deposit,
-                balance
-            );
-            receiptPath = PdfReceiptWriter.writeDischargeSummary(Path.of("exports", "receipts"), details);
-        } catch (IOException ioEx) {
-            JOptionPane.showMessageDialog(this,
-                    "Patient discharged, but the receipt could not be saved:\n" + ioEx.getMessage(),
-                    "Receipt warning",
-                    JOptionPane.WARNING_MESSAGE);
-        }
+    private void completeDischarge() {
+        JOptionPane.showMessageDialog(this,
+                "Patient discharged.\nThe receipt is being saved to " + ReceiptQueue.RECEIPT_DIRECTORY.toAbsolutePath()
+                        + "; you will be notified when it is ready.",
+                "Success",
+                JOptionPane.INFORMATION_MESSAGE);
+        dispose();
+    }
 
-        StringBuilder message = new StringBuilder("Patient discharged.");
-        if (receiptPath != null) {
-            message.append("\nReceipt saved to:\n").append(receiptPath.toAbsolutePath());
+    @Override
+    public void dispose() {
+        if (summaryTask != null) {
+            summaryTask.cancel();
         }
-        JOptionPane.showMessageDialog(this, message.toString(), "Success", JOptionPane.INFORMATION_MESSAGE);
-        dispose();
+        patientSelector.close();
+        if (patientsSubscription != null) {
+            patientsSubscription.run();
+            patientsSubscription = null;
+        }
+        super.dispose();
     }
 
     private record PatientSummary(
@@ -6,15 +6,19 @@ import java.awt.*;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Objects;
+import java.time.LocalDateTime;
 
 public class update_patient_details extends JFrame {
 
-    private final JComboBox<String> patientSelector;
+    private final UIComponents.Typeahead<PatientLookup.Match> patientSelector;
     private final JTextField roomField;
     private final JTextField checkInField;
     private final JTextField depositField;
     private final JTextField pendingField;
+    private JButton saveButton;
+    private DataAccessExecutor.Task loadTask;
+    private DataAccessExecutor.Task priceTask;
+    private Runnable patientsSubscription;
 
     public update_patient_details() {
         super("Update patient details");
@@ -24,7 +28,8 @@ public class update_patient_details extends JFrame {
         setLocationRelativeTo(null);
         setLayout(new BorderLayout());
         getContentPane().setBackground(UITheme.BACKGROUND);
-        patientSelector = UIComponents.comboBox();
+        patientSelector = UIComponents.typeahead(PatientLookup::search, PatientLookup.Match::label, this::populateDetails);
+        patientSelector.setToolTipText("Type a patient name or number");
         roomField = UIComponents.textField(20);
         checkInField = UIComponents.textField(20);
         depositField = UIComponents.textField(20);
@@ -41,15 +46,7 @@ public class update_patient_details extends JFrame {
 
         add(layout, BorderLayout.CENTER);
 
-        populatePatients();
-        populateDetails();
-
-        patientSelector.addActionListener(event -> {
-            if (event != null) {
-                event.getActionCommand();
-            }
-            populateDetails();
-        });
+        patientsSubscription = ChangeEvents.subscribe(patientSelector::forgetRecentQueries, ChangeEvents.Topic.PATIENTS);
 
         setVisible(true);
     }
@@ -83,7 +80,7 @@ public class update_patient_details extends JFrame {
             populateDetails();
         });
 
-        JButton saveButton = UIComponents.primaryButton("Save changes");
+        saveButton = UIComponents.primaryButton("Save changes");
         saveButton.addActionListener(event -> {
             if (event != null) {
                 event.getActionCommand();
@@ -119,24 +116,12 @@ public class update_patient_details extends JFrame {
         panel.add(field, gbc);
     }
 
-    private void populatePatients() {
-        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
-        try (conn c = new conn(); ResultSet patients = c.statement.executeQuery("select Name from Patient_Info order by Name")) {
-            while (patients.next()) {
-                model.addElement(patients.getString("Name"));
-            }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Unable to load patients: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
-        patientSelector.setModel(model);
-        if (model.getSize() == 0) {
-            patientSelector.addItem("No active patients");
-            patientSelector.setEnabled(false);
-        }
-    }
-
     private void populateDetails() {
-        if (!patientSelector.isEnabled()) {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        PatientLookup.Match patient = patientSelector.selected();
+        if (patient == null) {
             roomField.setText("");
             checkInField.setText("");
             depositField.setText("");
@@ -144,26 +129,33 @@ public class update_patient_details extends JFrame {
             return;
         }
 
-        String patientName = Objects.toString(patientSelector.getSelectedItem(), "");
-        if (patientName.isEmpty()) {
-            return;
-        }
+        loadTask = DataAccessExecutor.submit(() -> fetchDetails(patient.number()), details -> {
+            if (details == null) {
+                patientSelector.clear();
+                populateDetails();
+                JOptionPane.showMessageDialog(this, patient.name() + " has been discharged", "Information", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            roomField.setText(details.room());
+            checkInField.setText(details.checkIn());
+            depositField.setText(details.deposit());
+            recalculatePending();
+        }, ex -> JOptionPane.showMessageDialog(this, "Unable to load patient record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-        try (conn c = new conn(); PreparedStatement ps = c.connection.prepareStatement("select Room_Number, Time, Deposite from Patient_Info where Name = ?")) {
-            ps.setString(1, patientName);
+    private static PatientDetails fetchDetails(String patientNumber) throws SQLException {
+        try (conn c = new conn(); PreparedStatement ps = c.connection.prepareStatement(
+                "select Room_Number, Time, " + AdmissionTimes.selectColumn("Patient_Info") + ", Deposite from Patient_Info where number = ?")) {
+            ps.setString(1, patientNumber);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    roomField.setText(rs.getString("Room_Number"));
-                    checkInField.setText(rs.getString("Time"));
-                    depositField.setText(rs.getString("Deposite"));
+                    LocalDateTime admittedAt = AdmissionTimes.read(rs);
+                    String checkIn = admittedAt != null ? AdmissionTimes.format(admittedAt) : rs.getString("Time");
+                    return new PatientDetails(rs.getString("Room_Number"), checkIn, rs.getString("Deposite"));
                 }
             }
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(this, "Unable to load patient record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            return;
         }
-
-        recalculatePending();
+        return null;
     }
 
     private void recalculatePending() {
@@ -174,53 +166,106 @@ public class update_patient_details extends JFrame {
             return;
         }
 
-        try (conn c = new conn(); PreparedStatement ps = c.connection.prepareStatement("select Price from room where room_no = ?")) {
-            ps.setString(1, room);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    int price = rs.getInt("Price");
-                    int paid = Integer.parseInt(deposited);
-                    int pending = Math.max(0, price - paid);
-                    pendingField.setText(String.valueOf(pending));
-                } else {
-                    pendingField.setText("—");
-                }
-            }
-        } catch (SQLException | NumberFormatException ex) {
-            pendingField.setText("—");
+        if (priceTask != null) {
+            priceTask.cancel();
         }
+        priceTask = DataAccessExecutor.submit(() -> fetchRoomPrice(room), price -> {
+            if (price == null) {
+                pendingField.setText("—");
+                return;
+            }
+            try {
+                int paid = Integer.parseInt(deposited);
+                int pending = Math.max(0, price - paid);
+                pendingField.setText(String.valueOf(pending));
+            } catch (NumberFormatException ex) {
+                pendingField.setText("—");
+            }
+        }, ex -> pendingField.setText("—"));
+    }
+
+    private static Integer fetchRoomPrice(String room) throws SQLException {
+        ReferenceDataCache.RoomInfo info = ReferenceDataCache.room(room);
+        return info == null ? null : info.price();
     }
 
     private void persistChanges() {
-        if (!patientSelector.isEnabled()) {
-            JOptionPane.showMessageDialog(this, "There are no patient records to update", "Information", JOptionPane.INFORMATION_MESSAGE);
+        PatientLookup.Match patient = patientSelector.selected();
+        if (patient == null) {
+            JOptionPane.showMessageDialog(this, "Choose a patient to update", "Information", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
 
-        String patientName = Objects.toString(patientSelector.getSelectedItem(), "");
         String room = roomField.getText().trim();
         String checkIn = checkInField.getText().trim();
         String deposit = depositField.getText().trim();
 
-        if (patientName.isEmpty() || room.isEmpty() || checkIn.isEmpty() || deposit.isEmpty()) {
+        if (room.isEmpty() || checkIn.isEmpty() || deposit.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please complete all editable fields", "Missing information", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        try (conn c = new conn(); PreparedStatement ps = c.connection.prepareStatement(
-                "update Patient_Info set Room_Number = ?, Time = ?, Deposite = ? where Name = ?")) {
-            ps.setString(1, room);
-            ps.setString(2, checkIn);
-            ps.setString(3, deposit);
-            ps.setString(4, patientName);
-            ps.executeUpdate();
+        LocalDateTime admittedAt = AdmissionTimes.parseLegacy(checkIn);
+        if (admittedAt == null) {
+            JOptionPane.showMessageDialog(this, "Enter the check-in time like " + AdmissionTimes.format(LocalDateTime.now()), "Invalid check-in time", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        saveButton.setEnabled(false);
+        DataAccessExecutor.submit(() -> updatePatient(patient.number(), room, admittedAt, deposit), version -> {
+            saveButton.setEnabled(true);
+            ChangeEvents.publish(version, ChangeEvents.Topic.PATIENTS);
             JOptionPane.showMessageDialog(this, "Details updated successfully", "Saved", JOptionPane.INFORMATION_MESSAGE);
             recalculatePending();
-        } catch (SQLException ex) {
+        }, ex -> {
+            saveButton.setEnabled(true);
             JOptionPane.showMessageDialog(this, "Unable to update patient: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private static long updatePatient(String patientNumber, String room, LocalDateTime admittedAt, String deposit) throws SQLException {
+        boolean typedTime = AdmissionTimes.typedColumnReady();
+        try (conn c = new conn()) {
+            c.connection.setAutoCommit(false);
+            try (PreparedStatement ps = c.connection.prepareStatement(
+                    "update Patient_Info set Room_Number = ?, Time = ?, Deposite = ?" + (typedTime ? ", Admitted_At = ?" : "") + " where number = ?")) {
+                int index = 1;
+                ps.setString(index++, room);
+                ps.setString(index++, AdmissionTimes.format(admittedAt));
+                ps.setString(index++, deposit);
+                if (typedTime) {
+                    ps.setObject(index++, admittedAt);
+                }
+                ps.setString(index, patientNumber);
+                if (ps.executeUpdate() == 0) {
+                    throw new IllegalStateException("Patient " + patientNumber + " has been discharged");
+                }
+            }
+            long version = ChangeEvents.bumpVersion(c);
+            c.connection.commit();
+            return version;
         }
     }
 
+    @Override
+    public void dispose() {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        if (priceTask != null) {
+            priceTask.cancel();
+        }
+        patientSelector.close();
+        if (patientsSubscription != null) {
+            patientsSubscription.run();
+            patientsSubscription = null;
+        }
+        super.dispose();
+    }
+
+    private record PatientDetails(String room, String checkIn, String deposit) {
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(update_patient_details::new);
     }